@@ -4,41 +4,98 @@ import org.gradle.tooling.BuildLauncher;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class App {
 
+    /** A Garamon library to generate bindings for, and its header. */
+    record AlgebraSpec(Path libPath, Path mvecHPath) {
+        String libFileName() {
+            return libPath.getFileName().toString();
+        }
+
+        String logicalName() {
+            String libFileName = libFileName();
+            String noPrefix = libFileName.startsWith("lib") ? libFileName.substring(3) : libFileName;
+            return noPrefix.substring(0, noPrefix.indexOf('.'));
+        }
+    }
+
+    /** A step of the generation that may run asynchronously. */
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the asynchronous stages. They mostly wait on processes and files, so
+     * each gets its own virtual thread instead of competing for the common pool
+     * with the stages of the other algebras.
+     */
+    private static final ExecutorService STAGES = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Path jextractPath;
+    private boolean force;
+
     public static void main(String[] args) throws Exception {
         new App().run(args);
     }
 
     private void run(String[] args) throws Exception {
-        Path libPath = null;
-        Path mvecHPath = null;
-        Path jextractPath = null;
+        List<Path> libPaths = new ArrayList<>();
+        List<Path> mvecHPaths = new ArrayList<>();
+        Path manifest = null;
         Path outDir = null;
+        int jobs = 0;
 
         for (String arg : args) {
             if (arg.startsWith("--lib=")) {
-                libPath = Path.of(arg.substring("--lib=".length()));
+                libPaths.add(Path.of(arg.substring("--lib=".length())));
             } else if (arg.startsWith("--mvec_h=")) {
-                mvecHPath = Path.of(arg.substring("--mvec_h=".length()));
+                mvecHPaths.add(Path.of(arg.substring("--mvec_h=".length())));
+            } else if (arg.startsWith("--manifest=")) {
+                manifest = Path.of(arg.substring("--manifest=".length()));
+            } else if (arg.startsWith("--jobs=")) {
+                jobs = Integer.parseInt(arg.substring("--jobs=".length()));
             } else if (arg.startsWith("--jextract=")) {
                 jextractPath = Path.of(arg.substring("--jextract=".length()));
+            } else if (arg.equals("--force")) {
+                force = true;
             } else if (arg.startsWith("--out=")) {
                 outDir = Path.of(arg.substring("--out=".length()));
             }
         }
 
-        if (libPath == null || mvecHPath == null) {
+        if (libPaths.size() != mvecHPaths.size()) {
+            printUsageAndExit();
+        }
+        List<AlgebraSpec> specs = new ArrayList<>();
+        for (int i = 0; i < libPaths.size(); i++) {
+            specs.add(new AlgebraSpec(libPaths.get(i), mvecHPaths.get(i)));
+        }
+        if (manifest != null) {
+            specs.addAll(readManifest(manifest));
+        }
+        if (specs.isEmpty()) {
             printUsageAndExit();
         }
 
@@ -52,43 +109,73 @@ public class App {
             System.exit(1);
         }
 
+        if (specs.size() == 1) {
+            Path algebraDir = Path.of("build-algebra");
+            generate(specs.get(0), algebraDir, outDir, System.out);
+            printSuccess(algebraDir, outDir);
+        } else {
+            generateAll(specs, outDir, jobs > 0 ? jobs : Math.min(specs.size(), Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    /**
+     * Generates several algebras concurrently, each in {@code build-algebra-<name>},
+     * on at most {@code jobs} threads.
+     */
+    private void generateAll(List<AlgebraSpec> specs, Path outDir, int jobs) throws InterruptedException {
+        System.out.println("Generating " + specs.size() + " algebras with " + jobs + " parallel jobs");
+        long start = System.nanoTime();
+        Map<String, Future<Long>> results = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(jobs)) {
+            for (AlgebraSpec spec : specs) {
+                String name = spec.logicalName();
+                if (results.containsKey(name)) {
+                    throw new IllegalArgumentException("Algebra " + name + " is given twice");
+                }
+                PrintStream log = new PrintStream(new PrefixedOutputStream("[" + name + "] ", System.out), true,
+                        StandardCharsets.UTF_8);
+                Path algebraOut = outDir == null ? null : outDir.resolve(name);
+                results.put(name, executor.submit(() -> {
+                    long t0 = System.nanoTime();
+                    generate(spec, Path.of("build-algebra-" + name), algebraOut, log);
+                    return System.nanoTime() - t0;
+                }));
+            }
+        }
+
+        System.out.println("\n--------------------------------------------------");
+        boolean failed = false;
+        for (Map.Entry<String, Future<Long>> result : results.entrySet()) {
+            try {
+                long nanos = result.getValue().get();
+                System.out.printf("  %-12s OK      %6.1f s  %s%n", result.getKey(), nanos / 1e9,
+                        Path.of("build-algebra-" + result.getKey()).toAbsolutePath());
+            } catch (ExecutionException e) {
+                failed = true;
+                System.out.printf("  %-12s FAILED  %s%n", result.getKey(), e.getCause());
+            }
+        }
+        System.out.printf("Total: %.1f s%n", (System.nanoTime() - start) / 1e9);
+        System.out.println("--------------------------------------------------");
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates, builds and publishes the bindings of one algebra.
+     * Writes its progress to {@code log}.
+     */
+    private void generate(AlgebraSpec spec, Path algebraDir, Path outDir, PrintStream log) throws Exception {
         // Define variables
-        String libFileName = libPath.getFileName().toString();
-        String noPrefix = libFileName.startsWith("lib") ? libFileName.substring(3) : libFileName;
-        String libLogicalName = noPrefix.substring(0, noPrefix.indexOf('.'));
-        Path algebraDir = Path.of("build-algebra");
-        
-        Path algebraSrc = algebraDir.resolve("src");
-        Path resourcesDir = algebraSrc.resolve("main/resources");
-        Path nativeDir = resourcesDir.resolve("natives");
+        Path libPath = spec.libPath();
+        Path mvecHPath = spec.mvecHPath();
+        String libFileName = spec.libFileName();
+        String libLogicalName = spec.logicalName();
+
         Path templatesDir = Path.of("templates");
         Path staticDir = Path.of("static");
-        String algebraPkgName = "org.garamon." + libLogicalName;
-        Path algebraPkgDir = algebraSrc.resolve("main/java/org/garamon/" + libLogicalName);
-        Path tmpClassesDir = Files.createTempDirectory("garamon-classes");
-
-        // Prepare algebra skeleton
-        System.out.println("Preparing algebra skeleton in " + algebraDir);
-        Files.createDirectories(algebraDir);
-        copyDirectory(staticDir, algebraDir);
-
-        Files.walk(templatesDir)
-                .filter(Files::isRegularFile)
-                .forEach(source -> {
-                    try {
-                        Path relative = templatesDir.relativize(source);
-                        String replaced = relative.toString().replace("GENERIC", libLogicalName);
-                        Path destination = algebraDir.resolve(replaced);
-                        Files.createDirectories(destination.getParent());
-                        String content = Files.readString(source).replace("GENERIC", libLogicalName);
-                        Files.writeString(destination, content);
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(e);
-                    }
-                });
 
-        // Copy native library
-        System.out.println("Copying native library and writing properties");
         String os = System.getProperty("os.name").toLowerCase();
         String nativeClassifier;
         if (os.contains("win")) {
@@ -100,76 +187,174 @@ public class App {
         } else {
             nativeClassifier = "unknown";
         }
-        Path targetNativeDir = nativeDir.resolve(nativeClassifier);
-        Files.createDirectories(targetNativeDir);
-        Path targetLibPath = targetNativeDir.resolve(libFileName);
-        Files.copy(libPath, targetLibPath, StandardCopyOption.REPLACE_EXISTING);
-
-        Path propsFile = resourcesDir.resolve("native-lib.properties");
-        String propsContent = Files.readString(propsFile);
-        Files.writeString(propsFile, propsContent.replace("UNKNOWN", nativeClassifier));
-
-        System.out.println("Algebra prepared at: " + algebraDir);
-
-        // Run jextract
-        System.out.println("Running jextract");
-        execute(jextractPath.toString(),
-                "-t", algebraPkgName,
-                "-l", ":" + targetLibPath.toAbsolutePath(),
-                "--output", algebraSrc.resolve("main/java").toAbsolutePath().toString(),
-                mvecHPath.toAbsolutePath().toString());
-
-        // Compile the minimal parser
-        System.out.println("Compiling the minimal parser");
-        execute("javac",
-                "-d", tmpClassesDir.toString(),
-                algebraPkgDir.resolve("GaramonParser.java").toString(),
-                algebraPkgDir.resolve("Mvec_h.java").toString(),
-                algebraPkgDir.resolve("Mvec_h$shared.java").toString()
-                );
+        Path nativePath = Path.of("src/main/resources/natives", nativeClassifier, libFileName);
+
+        // Skip the stages whose inputs did not change since the previous generation
+        BuildState state = BuildState.load(algebraDir);
+        String inputsHash = new BuildState.Hasher()
+                .add(libLogicalName)
+                .add(nativeClassifier)
+                .addFile(libPath)
+                .addFile(mvecHPath)
+                .addTree(templatesDir)
+                .addTree(staticDir)
+                .add(jextractFingerprint())
+                .hash();
+        String outputsHash = BuildState.hashOutputs(algebraDir);
+
+        if (!force && state.isUpToDate("sources", inputsHash + ":" + outputsHash)) {
+            log.println("Sources are up to date, skipping skeleton, jextract and parser");
+        } else {
+            state.record("sources", null);
+            // The library is loaded from its final location by the parser, copy it first
+            Path targetLibPath = algebraDir.resolve(nativePath);
+            BuildState.copyIfChanged(libPath, targetLibPath);
+
+            // Generate everything in a staging directory, then only write the files that changed
+            Path stagingDir = Files.createTempDirectory("garamon-staging");
+            try {
+                generateSources(spec, stagingDir, targetLibPath, nativeClassifier, log);
+                // the staging tree holds the whole project, files missing from it are stale
+                BuildState.copyIfChanged(targetLibPath, stagingDir.resolve(nativePath));
+                int written = BuildState.mirrorTree(stagingDir, algebraDir);
+                log.println("Algebra prepared at: " + algebraDir + " (" + written + " files updated)");
+            } finally {
+                deleteTree(stagingDir);
+            }
+            outputsHash = BuildState.hashOutputs(algebraDir);
+            state.record("sources", inputsHash + ":" + outputsHash);
+        }
+
+        // Copy examples while the package is built
+        CompletableFuture<Void> examples = async(() -> {
+            if (outDir != null) {
+                log.println("Copying skeleton to " + outDir);
+                // not mirrored: the output directory is the user's project
+                BuildState.syncTree(algebraDir.resolve("examples"), outDir);
+            }
+        });
 
+        // Build, test and publish
+        if (!force && state.isUpToDate("build", outputsHash)) {
+            log.println("Package is up to date, skipping build, test and publication");
+        } else {
+            state.record("build", null);
+            buildTestPublish(algebraDir, log);
+            state.record("build", outputsHash);
+        }
+        join(examples);
+    }
+
+    /**
+     * Generates the sources of one algebra in {@code stagingDir}: skeleton,
+     * jextract bindings and parsed templates.
+     */
+    private void generateSources(AlgebraSpec spec, Path stagingDir, Path targetLibPath, String nativeClassifier,
+                                 PrintStream log) throws Exception {
+        String libLogicalName = spec.logicalName();
+        Path algebraSrc = stagingDir.resolve("src");
+        Path resourcesDir = algebraSrc.resolve("main/resources");
+        Path templatesDir = Path.of("templates");
+        Path staticDir = Path.of("static");
+        String algebraPkgName = "org.garamon." + libLogicalName;
+        Path algebraPkgDir = algebraSrc.resolve("main/java/org/garamon/" + libLogicalName);
+
+        // The skeleton and jextract write disjoint files, run them side by side
+        CompletableFuture<Void> skeleton = async(() -> {
+            // Prepare algebra skeleton
+            log.println("Preparing algebra skeleton");
+            copyDirectory(staticDir, stagingDir);
+
+            try (var sources = Files.walk(templatesDir)) {
+                sources.filter(Files::isRegularFile)
+                        .forEach(source -> {
+                            try {
+                                Path relative = templatesDir.relativize(source);
+                                String replaced = relative.toString().replace("GENERIC", libLogicalName);
+                                Path destination = stagingDir.resolve(replaced);
+                                Files.createDirectories(destination.getParent());
+                                String content = Files.readString(source).replace("GENERIC", libLogicalName);
+                                Files.writeString(destination, content);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            }
+
+            // Write native library properties
+            log.println("Writing native library properties");
+            Path propsFile = resourcesDir.resolve("native-lib.properties");
+            String propsContent = Files.readString(propsFile);
+            Files.writeString(propsFile, propsContent.replace("UNKNOWN", nativeClassifier));
+        });
+
+        CompletableFuture<Void> bindings = async(() -> {
+            // Run jextract
+            log.println("Running jextract");
+            execute(log, jextractPath.toString(),
+                    "-t", algebraPkgName,
+                    "-l", ":" + targetLibPath.toAbsolutePath(),
+                    "--output", algebraSrc.resolve("main/java").toAbsolutePath().toString(),
+                    spec.mvecHPath().toAbsolutePath().toString());
+        });
+        join(CompletableFuture.allOf(skeleton, bindings));
+
+        // Compile the minimal parser, in memory
+        log.println("Compiling the minimal parser");
+        InProcessParser parser = InProcessParser.compile(algebraPkgName + ".GaramonParser", List.of(
+                algebraPkgDir.resolve("GaramonParser.java"),
+                algebraPkgDir.resolve("GaramonCodegen.java"),
+                algebraPkgDir.resolve("Mvec_h.java"),
+                algebraPkgDir.resolve("Mvec_h$shared.java")));
 
         // Run parser for java sources - only process the current algebra's files
-        System.out.println("Running parser for java sources");
+        log.println("Running parser for java sources");
         String algebraPkgPath = "/org/garamon/" + libLogicalName + "/";
-        List<String> javaFiles = Files.walk(algebraDir)
-                .filter(p -> p.toString().endsWith(".java"))
-                .filter(p -> !p.getFileName().toString().equals("Mvec_h.java"))
-                .filter(p -> !p.toString().contains("/org/garamon/") || p.toString().contains(algebraPkgPath))
-                .map(Path::toString)
-                .collect(Collectors.toList());
-
-        List<String> command = new ArrayList<>();
-        command.add("java");
-        command.add("--enable-native-access=ALL-UNNAMED");
-        command.add("-cp");
-        command.add(tmpClassesDir.toString());
-        command.add("-Djdk.lang.foreign.debug=true");
-        command.add("-Djava.library.path=" + targetNativeDir.toAbsolutePath());
-        command.add(algebraPkgName + ".GaramonParser");
-        command.add("--inplace");
-        command.addAll(javaFiles);
-        execute(command);
-
-        // Copy examples
-        if (outDir != null) {
-            System.out.println("Copying skeleton to " + outDir);
-            copyDirectory(algebraDir.resolve("examples"), outDir);
+        List<Path> javaFiles;
+        try (var sources = Files.walk(stagingDir)) {
+            javaFiles = sources
+                    .filter(p -> p.toString().endsWith(".java"))
+                    .filter(p -> !p.getFileName().toString().equals("Mvec_h.java"))
+                    .filter(p -> !p.toString().contains("/org/garamon/") || p.toString().contains(algebraPkgPath))
+                    .collect(Collectors.toList());
         }
+        Map<Path, Exception> failures = parser.expandInPlace(javaFiles);
+        failures.forEach((javaFile, e) ->
+                log.println("Error processing file " + javaFile + ": " + e.getMessage()));
+        if (!failures.isEmpty()) {
+            // a half-expanded tree must not be recorded as up to date
+            throw new IOException("Parser failed on " + failures.size() + " files");
+        }
+    }
 
-        // Build, test and publish 
-        buildTestPublish(algebraDir);
-
-        // Cleanup
-        Files.walk(tmpClassesDir)
-                .sorted(java.util.Comparator.reverseOrder())
-                .forEach(p -> {
-                    try {
-                        Files.delete(p);
-                    } catch (IOException e) {
-                        // ignore
-                    }
-                });
+    /**
+     * Identifies the jextract installation: its resolved path, launcher and
+     * {@code release} file, so that an upgrade invalidates the generated bindings.
+     */
+    private String jextractFingerprint() throws IOException {
+        Path real = jextractPath.toRealPath();
+        BuildState.Hasher hasher = new BuildState.Hasher().add(real.toString()).addFile(real);
+        Path release = real.getParent().resolveSibling("release");
+        if (Files.isRegularFile(release)) {
+            hasher.addFile(release);
+        }
+        return hasher.hash();
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (var files = Files.walk(root)) {
+            files.sorted(java.util.Comparator.reverseOrder())
+                    .forEach(p -> {
+                        try {
+                            Files.delete(p);
+                        } catch (IOException e) {
+                            // ignore
+                        }
+                    });
+        }
+    }
+
+    private void printSuccess(Path algebraDir, Path outDir) {
         // Final message
         System.out.println("\n--------------------------------------------------");
         System.out.println("SUCCESS!");
@@ -184,44 +369,78 @@ public class App {
         System.out.println("You can now import it in your IDE (as a Gradle project) or run it via command line:");
         System.out.println("  cd " + finalExamplesDir.toAbsolutePath().normalize());
         System.out.println("  ./gradlew run");
+        System.out.println("Benchmarks of the bindings can be run from the algebra project:");
+        System.out.println("  cd " + algebraDir.toAbsolutePath().normalize() + " && ./gradlew jmh");
 
 
         System.out.println("--------------------------------------------------");
     }
 
-    private void execute(String... command) throws IOException, InterruptedException {
-        ProcessBuilder pb = new ProcessBuilder(command);
-        runProcess(pb);
+    /**
+     * Reads a manifest of algebras: one {@code <lib> <mvec_h>} pair per line,
+     * blank lines and lines starting with {@code #} being ignored.
+     * Relative paths are resolved against the manifest directory.
+     */
+    static List<AlgebraSpec> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<AlgebraSpec> specs = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\\s+");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Invalid manifest line, expected '<lib> <mvec_h>': " + line);
+            }
+            specs.add(new AlgebraSpec(base.resolve(fields[0]), base.resolve(fields[1])));
+        }
+        return specs;
+    }
+
+    private static CompletableFuture<Void> async(Stage stage) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                stage.run();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, STAGES);
     }
 
-    private void execute(List<String> command) throws IOException, InterruptedException {
+    private static void join(CompletableFuture<?> future) throws Exception {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void execute(PrintStream log, String... command) throws IOException, InterruptedException {
         ProcessBuilder pb = new ProcessBuilder(command);
-        runProcess(pb);
+        runProcess(pb, log);
     }
 
-    static void runGradleTasks(Path projectDir, String... tasks) {
+    static void runGradleTasks(ProjectConnection connection, PrintStream log, String... tasks) {
+        BuildLauncher build = connection.newBuild().forTasks(tasks);
+        build.setStandardOutput(log);
+        build.setStandardError(log);
+        build.run();
+    }
+
+    static void buildTestPublish(Path algebraDir, PrintStream log) {
         GradleConnector connector = GradleConnector.newConnector()
-                .forProjectDirectory(projectDir.toFile());
+                .forProjectDirectory(algebraDir.toFile());
         try (ProjectConnection connection = connector.connect()) {
-            BuildLauncher build = connection.newBuild().forTasks(tasks);
-            build.setStandardOutput(System.out);
-            build.setStandardError(System.err);
-            build.run();
+            // build already runs the tests; clean gets its own invocation so that it
+            // cannot be scheduled among the tasks of the build
+            log.println("Building, testing and publishing final package to MavenLocal");
+            runGradleTasks(connection, log, "build", "publishToMavenLocal");
+            log.println("Cleaning up");
+            runGradleTasks(connection, log, "clean");
         }
     }
 
-    static void buildTestPublish(Path algebraDir) {
-        System.out.println("Building final package");
-        runGradleTasks(algebraDir, "build");
-        System.out.println("Testing final package");
-        runGradleTasks(algebraDir, "test");
-        System.out.println("Publishing to MavenLocal");
-        runGradleTasks(algebraDir, "publishToMavenLocal");
-        System.out.println("Cleaning up");
-        runGradleTasks(algebraDir, "clean");
-    }
-
-    private void runProcess(ProcessBuilder pb) throws IOException, InterruptedException {
+    private void runProcess(ProcessBuilder pb, PrintStream log) throws IOException, InterruptedException {
         pb.redirectErrorStream(true);
         Process process = pb.start();
         try (var executor = Executors.newSingleThreadExecutor()) {
@@ -229,7 +448,7 @@ public class App {
                 try (var reader = new java.io.BufferedReader(new java.io.InputStreamReader(process.getInputStream()))) {
                     String line;
                     while ((line = reader.readLine()) != null) {
-                        System.out.println(line);
+                        log.println(line);
                     }
                 } catch (IOException e) {
                     e.printStackTrace();
@@ -238,8 +457,8 @@ public class App {
         }
         int exitCode = process.waitFor();
         if (exitCode != 0) {
-            System.err.println("Command failed with exit code " + exitCode);
-            System.exit(exitCode);
+            log.println("Command failed with exit code " + exitCode);
+            throw new IOException("Command " + pb.command().get(0) + " failed with exit code " + exitCode);
         }
     }
 
@@ -270,9 +489,43 @@ public class App {
         });
     }
 
+    /** Prefixes every line written to the target stream, to tell concurrent algebras apart. */
+    private static final class PrefixedOutputStream extends OutputStream {
+        private final byte[] prefix;
+        private final OutputStream target;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        PrefixedOutputStream(String prefix, OutputStream target) {
+            this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+            this.target = target;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            line.write(b);
+            if (b == '\n') flushLine();
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            target.flush();
+        }
+
+        private void flushLine() throws IOException {
+            synchronized (target) {
+                target.write(prefix);
+                line.writeTo(target);
+                target.flush();
+            }
+            line.reset();
+        }
+    }
+
     private void printUsageAndExit() {
         System.err.println(
-                "Usage: java -jar create-package.jar --lib=<path> --mvec_h=<path> [--jextract=<path>] [--out=<path>]");
+                "Usage: java -jar create-package.jar --lib=<path> --mvec_h=<path> [--jextract=<path>] [--out=<path>] [--force]");
+        System.err.println(
+                "       java -jar create-package.jar (--lib=<path> --mvec_h=<path>)... | --manifest=<path> [--jobs=<n>] [--jextract=<path>] [--out=<path>] [--force]");
         System.err.println();
         System.err.println("This script generates Java bindings for a Geometric Algebra library generated by Garamon.");
         System.err.println("Garamon is a C++ library generator for Geometric Algebra.");
@@ -280,10 +533,19 @@ public class App {
         System.err.println("Arguments:");
         System.err.println("  --lib=<path>      Path to the native library (e.g., libc5ga.so, c5ga.dll).");
         System.err.println("  --mvec_h=<path>   Path to the C header file (e.g., Mvec.h) for jextract.");
+        System.err.println(
+                "  --manifest=<path> File listing several algebras, one '<lib> <mvec_h>' pair per line (optional).");
+        System.err.println(
+                "  --jobs=<n>        Number of algebras generated concurrently (optional, default: number of CPUs).");
         System.err.println(
                 "  --jextract=<path> Path to the jextract tool executable (optional). If not provided, jextract must be in PATH.");
         System.err.println(
                 "  --out=<path>      Directory where the 'examples' project will be copied (optional).");
+        System.err.println(
+                "  --force           Regenerate and rebuild even if the inputs did not change (optional).");
+        System.err.println();
+        System.err.println("With several algebras (repeated --lib/--mvec_h pairs or a manifest), each one is generated");
+        System.err.println("in build-algebra-<name>, and its examples are copied to <out>/<name>.");
         System.exit(1);
     }
-}
\ No newline at end of file
+}
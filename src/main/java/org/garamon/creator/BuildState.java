@@ -0,0 +1,231 @@
+package org.garamon.creator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Defines the state of a previous generation of an algebra project, stored in
+ * its directory, so that stages whose inputs did not change can be skipped.
+ * <p>
+ * Each entry maps a stage name to the hash of the inputs it was last run with.
+ * An entry is only recorded once its stage succeeded.
+ */
+final class BuildState {
+
+    /** Name of the manifest file, at the root of the algebra project. */
+    static final String FILE_NAME = ".garamon-build-state";
+
+    /** Directories written by Gradle and the IDEs, never part of the generated sources. */
+    private static final Set<String> IGNORED_DIRECTORIES = Set.of("build", ".gradle", ".idea", ".vscode", "bin");
+
+    private final Path file;
+    private final Properties entries = new Properties();
+
+    private BuildState(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Defines the loading of the state of an algebra project.
+     * @param algebraDir the algebra project directory
+     * @return the recorded state, empty when the project was never generated
+     */
+    static BuildState load(Path algebraDir) throws IOException {
+        BuildState state = new BuildState(algebraDir.resolve(FILE_NAME));
+        if (Files.isRegularFile(state.file)) {
+            try (InputStream in = Files.newInputStream(state.file)) {
+                state.entries.load(in);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Defines whether a stage already ran with the given inputs.
+     * @param stage the stage name
+     * @param hash the hash of the current inputs of the stage
+     * @return true if the stage can be skipped
+     */
+    boolean isUpToDate(String stage, String hash) {
+        return hash.equals(entries.getProperty(stage));
+    }
+
+    /**
+     * Defines the recording of a stage, written to disk immediately.
+     * @param stage the stage name
+     * @param hash the hash of the inputs the stage ran with, null to forget the stage
+     */
+    void record(String stage, String hash) throws IOException {
+        if (hash == null) {
+            entries.remove(stage);
+        } else {
+            entries.setProperty(stage, hash);
+        }
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            entries.store(out, "Garamon generation state, delete this file to force a full regeneration");
+        }
+    }
+
+    /** Incremental SHA-256 hash of files, trees and strings. */
+    static final class Hasher {
+        private final MessageDigest digest;
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Hasher add(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            addLength(bytes.length);
+            digest.update(bytes);
+            return this;
+        }
+
+        Hasher addFile(Path path) throws IOException {
+            addLength(Files.size(path));
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = Files.newInputStream(path)) {
+                for (int n; (n = in.read(buffer)) > 0; ) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            return this;
+        }
+
+        /** Adds the relative path and content of every file of a tree, in a stable order. */
+        Hasher addTree(Path root) throws IOException {
+            for (Path path : listFiles(root)) {
+                add(root.relativize(path).toString().replace('\\', '/'));
+                addFile(path);
+            }
+            return this;
+        }
+
+        String hash() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void addLength(long length) {
+            for (int i = 0; i < 8; i++) {
+                digest.update((byte) (length >>> (8 * i)));
+            }
+        }
+    }
+
+    /**
+     * Defines the hash of the generated files of an algebra project, ignoring
+     * the Gradle outputs and this manifest.
+     * @param algebraDir the algebra project directory
+     * @return the hash of the project sources, or an empty string if the project does not exist
+     */
+    static String hashOutputs(Path algebraDir) throws IOException {
+        if (!Files.isDirectory(algebraDir)) {
+            return "";
+        }
+        return new Hasher().addTree(algebraDir).hash();
+    }
+
+    /**
+     * Defines the regular files of a tree, sorted by path, skipping the
+     * Gradle outputs and this manifest.
+     */
+    static List<Path> listFiles(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().equals(FILE_NAME))
+                    .filter(p -> {
+                        for (Path part : root.relativize(p)) {
+                            if (IGNORED_DIRECTORIES.contains(part.toString())) return false;
+                        }
+                        return true;
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Defines the copy of a file, leaving the destination untouched when it
+     * already has the same content.
+     * @return true if the file was copied
+     */
+    static boolean copyIfChanged(Path source, Path destination) throws IOException {
+        if (Files.isRegularFile(destination) && Files.mismatch(source, destination) == -1) {
+            return false;
+        }
+        Files.createDirectories(destination.getParent());
+        Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    /**
+     * Defines the copy of a tree, only writing the files whose content changed.
+     * @return the number of files written
+     */
+    static int syncTree(Path source, Path destination) throws IOException {
+        int[] written = {0};
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                try {
+                    if (copyIfChanged(file, destination.resolve(source.relativize(file).toString()))) {
+                        written[0]++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return written[0];
+    }
+
+    /**
+     * Defines the mirroring of a tree: the copy of {@link #syncTree}, then the
+     * deletion of the files of the destination missing from the source, such
+     * as the output of a removed template. The Gradle and IDE directories and
+     * this manifest are kept.
+     * @return the number of files written or deleted
+     */
+    static int mirrorTree(Path source, Path destination) throws IOException {
+        int changed = syncTree(source, destination);
+        for (Path file : listFiles(destination)) {
+            if (!Files.exists(source.resolve(destination.relativize(file).toString()))) {
+                Files.delete(file);
+                changed++;
+                // drop the directories the deletion left empty
+                for (Path dir = file.getParent(); !dir.equals(destination) && isEmptyDirectory(dir); dir = dir.getParent()) {
+                    Files.delete(dir);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean isEmptyDirectory(Path dir) throws IOException {
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.garamon.creator;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Defines the GaramonParser of one algebra, compiled in memory and loaded in
+ * its own class loader, so that templates are expanded without forking a
+ * compiler and a JVM.
+ * <p>
+ * The native library of the algebra is loaded once, by the first expansion,
+ * and stays loaded for all the files of the algebra. It is unloaded with the
+ * class loader once the parser is no longer referenced.
+ */
+final class InProcessParser {
+
+    /** The compiler is stateless and shared by all the algebras of a run. */
+    private static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
+
+    private final MethodHandle expand;
+    private final MethodHandle expandInPlace;
+
+    private InProcessParser(MethodHandle expand, MethodHandle expandInPlace) {
+        this.expand = expand;
+        this.expandInPlace = expandInPlace;
+    }
+
+    /**
+     * Defines the compilation of the parser of an algebra.
+     * @param className the binary name of the GaramonParser class
+     * @param sources the parser sources and the jextract bindings it needs
+     * @return a parser ready to expand files
+     * @throws IOException if the sources do not compile
+     */
+    static InProcessParser compile(String className, List<Path> sources)
+            throws IOException, ReflectiveOperationException {
+        if (COMPILER == null) {
+            throw new IllegalStateException("No Java compiler available, the creator must run on a JDK");
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, byte[]> classes = new ConcurrentHashMap<>();
+        try (StandardJavaFileManager standard = COMPILER.getStandardFileManager(diagnostics, null, null);
+             MemoryFileManager fileManager = new MemoryFileManager(standard, classes)) {
+            Iterable<? extends JavaFileObject> units = standard.getJavaFileObjectsFromPaths(sources);
+            boolean ok = COMPILER.getTask(null, fileManager, diagnostics, List.of("-proc:none", "-nowarn"), null, units)
+                    .call();
+            if (!ok) {
+                throw new IOException("Compilation of the parser failed:\n" + diagnostics.getDiagnostics().stream()
+                        .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                        .map(Object::toString)
+                        .collect(Collectors.joining("\n")));
+            }
+        }
+
+        // Isolated from the creator classes: the parser only depends on the JDK
+        ClassLoader loader = new MemoryClassLoader(classes, ClassLoader.getPlatformClassLoader());
+        Class<?> parser = Class.forName(className, true, loader);
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        return new InProcessParser(
+                lookup.findStatic(parser, "expand", MethodType.methodType(String.class, String.class)),
+                lookup.findStatic(parser, "expandInPlace", MethodType.methodType(Map.class, List.class)));
+    }
+
+    /**
+     * Defines the expansion of source files, rewritten in place as one batch
+     * sharing the native templates.
+     * @param files the files to expand
+     * @return the failures, by file
+     */
+    @SuppressWarnings("unchecked")
+    Map<Path, Exception> expandInPlace(List<Path> files) throws Exception {
+        try {
+            return (Map<Path, Exception>) expandInPlace.invokeExact(files);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Defines the expansion of the content of a source file.
+     * @param data the content of the file
+     * @return the expanded content
+     */
+    String expand(String data) throws Exception {
+        try {
+            return (String) expand.invokeExact(data);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /** Keeps the compiled classes in memory. */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, byte[]> classes;
+
+        MemoryFileManager(StandardJavaFileManager fileManager, Map<String, byte[]> classes) {
+            super(fileManager);
+            this.classes = classes;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension),
+                    kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream() {
+                        @Override
+                        public void close() {
+                            classes.put(className, toByteArray());
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /** Defines the classes compiled by a {@link MemoryFileManager}. */
+    private static final class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        MemoryClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super("garamon-parser", parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
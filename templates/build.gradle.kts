@@ -4,6 +4,7 @@ import org.gradle.jvm.toolchain.JavaLanguageVersion
 plugins {
     `java-library`
     `maven-publish`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.garamon.GENERIC"
@@ -21,14 +22,30 @@ java {
 }
 
 sourceSets {
+    // SIMD batch kernels (VectorBatchKernels) need the jdk.incubator.vector module. javac prints
+    // "using incubating module(s)" on every compilation that resolves it, so only this source set
+    // is compiled with the module; its classes are part of main. At run time, BatchKernels falls
+    // back to scalar loops without the module.
+    val simd = create("simd") {
+        java { include("org/garamon/GENERIC/**") }
+    }
     main {
         java { include("org/garamon/GENERIC/**") }
+        compileClasspath += simd.output
+        output.dir(mapOf("builtBy" to simd.compileJavaTaskName), simd.java.destinationDirectory)
     }
     test {
         java { include("org/garamon/GENERIC/**") }
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    jvmArgs.addAll("--enable-native-access=ALL-UNNAMED", "--add-modules", "jdk.incubator.vector")
+    resultFormat.set("JSON")
+}
+
 publishing {
     publications {
         create<MavenPublication>("mavenJava") {
@@ -43,6 +60,16 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.named<JavaCompile>(sourceSets["simd"].compileJavaTaskName) {
+    options.compilerArgs.addAll(vectorModule)
+}
+
+tasks.named<Jar>("sourcesJar") {
+    from(sourceSets["simd"].allSource)
+}
+
 tasks.withType<Javadoc>().configureEach {
     isFailOnError = false
     (options as StandardJavadocDocletOptions).addBooleanOption("Xdoclint:none", true)
@@ -62,9 +89,10 @@ tasks.jar {
     }
 }
 
-tasks.test {
+tasks.withType<Test>().configureEach {
     useJUnitPlatform()
     jvmArgs("--enable-native-access=ALL-UNNAMED")
+    jvmArgs(vectorModule)
     systemProperty("java.library.path", file("libs").absolutePath)
     testLogging {
         events("passed", "skipped", "failed")
@@ -72,3 +100,22 @@ tasks.test {
         showStandardStreams = false
     }
 }
+
+// The leak detector and the native budget are read once, at class initialization: run their
+// test in its own JVM with paranoid leak detection and a blocking budget of 64 multivectors
+val leakTest by tasks.registering(Test::class) {
+    description = "Runs MvecLeakDetectorTest with leak detection and a native budget."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter { includeTestsMatching("*.MvecLeakDetectorTest") }
+    systemProperty("garamon.leak.detection", "paranoid")
+    systemProperty("garamon.native.bytesPerMvec", "1024")
+    systemProperty("garamon.native.budget", "64k")
+    systemProperty("garamon.native.budgetAction", "block")
+    systemProperty("garamon.native.budgetWaitMillis", "10000")
+}
+
+tasks.check {
+    dependsOn(leakTest)
+}
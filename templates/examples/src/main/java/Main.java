@@ -5,13 +5,13 @@ public class Main {
   public static void main(String[] args) {
     // mv1[scalar]=1, mv1[I]=42
     Mvec mv1 = new Mvec(1.0);
-    mv1 = mv1.add(Mvec.I().rmul(42.0));
+    mv1 = mv1.add(Mvec.PSEUDOSCALAR.rmul(42.0));
     System.out.print("mv1 : ");
     mv1.display();
 
     // mv2 = scalar(1) + I()
     Mvec mv2 = new Mvec(1.0);
-    mv2 = mv2.add(Mvec.I());
+    mv2 = mv2.add(Mvec.PSEUDOSCALAR);
     System.out.print("mv2 : ");
     mv2.display();
     System.out.println();
@@ -41,7 +41,7 @@ public class Main {
     if (mv1.isEmpty())
       System.out.println("mv1 is empty: ok");
 
-    // manual free (but GC will handle close if not done)
+    // manual free: otherwise the Cleaner frees them only after a GC (see MvecLeakDetector)
     mv1.close();
     mv2.close();
     ext.close();
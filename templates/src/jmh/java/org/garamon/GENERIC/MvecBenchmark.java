@@ -0,0 +1,293 @@
+package org.garamon.project_namespace;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the bindings: operators, construction and close, coefficient access.
+ *
+ * <p>Benchmarks returning an Mvec leave it to the Cleaner, they measure the GC
+ * and Cleaner pressure of the value-like API; the {@code *Close} and
+ * {@code *Into} variants measure explicit and allocation-free use. Run with
+ * {@code ./gradlew jmh}, allocation rates are reported by the gc profiler.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MvecBenchmark {
+
+    private Mvec a;
+    private Mvec b;
+    private Mvec dst;
+    private JavaMvec ja;
+    private JavaMvec jb;
+    private Vector va;
+    private Rotor ra;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        NativeLoader.load();
+        a = new Mvec(1.0);
+        a.set(Mvec.Basis.Eproject_first_vector_basis, 2.0);
+        a.set(Mvec.Basis.Eproject_second_vector_basis, -0.5);
+        b = new Mvec(0.25);
+        b.set(Mvec.Basis.Eproject_second_vector_basis, 3.0);
+        b.set(Mvec.Basis.Eproject_first_vector_basis | Mvec.Basis.Eproject_second_vector_basis, 1.5);
+        dst = new Mvec();
+        ja = JavaMvec.from(a);
+        jb = JavaMvec.from(b);
+        va = Vector.from(a);
+        ra = Rotor.from(b);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        a.close();
+        b.close();
+        dst.close();
+    }
+
+    // operators, result left to the Cleaner
+
+    @Benchmark
+    public Mvec add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Mvec mul() {
+        return a.mul(b);
+    }
+
+    @Benchmark
+    public Mvec rmul() {
+        return a.rmul(2.0);
+    }
+
+    @Benchmark
+    public Mvec outer() {
+        return a.outer(b);
+    }
+
+    @Benchmark
+    public Mvec inner() {
+        return a.inner(b);
+    }
+
+    @Benchmark
+    public Mvec leftContraction() {
+        return a.leftContraction(b);
+    }
+
+    @Benchmark
+    public Mvec rightContraction() {
+        return a.rightContraction(b);
+    }
+
+    @Benchmark
+    public double norm() {
+        return a.norm();
+    }
+
+    // explicit lifetimes
+
+    @Benchmark
+    public double mulClose() {
+        try (Mvec r = a.mul(b)) {
+            return r.toScalar();
+        }
+    }
+
+    @Benchmark
+    public Mvec mulInto() {
+        return a.mulInto(b, dst);
+    }
+
+    @Benchmark
+    public Mvec construct() {
+        return new Mvec(1.0);
+    }
+
+    @Benchmark
+    public void constructClose() {
+        new Mvec(1.0).close();
+    }
+
+    /** Enables the per-thread pool of native multivectors for the benchmark. */
+    @State(Scope.Thread)
+    public static class Pooled {
+        @Param({"16"})
+        public int capacity;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            MvecPool.setCapacity(capacity);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            MvecPool.setCapacity(0);
+        }
+    }
+
+    @Benchmark
+    public void constructClosePooled(Pooled pool) {
+        new Mvec(1.0).close();
+    }
+
+    @Benchmark
+    public double scoped() {
+        try (MvecScope scope = MvecScope.open()) {
+            return a.mul(b).outer(a).toScalar();
+        }
+    }
+
+    // coefficient access
+
+    @Benchmark
+    public int[] grades() {
+        return a.grades();
+    }
+
+    @Benchmark
+    public double get() {
+        return a.get(Mvec.Basis.Eproject_first_vector_basis);
+    }
+
+    @Benchmark
+    public void set() {
+        dst.set(Mvec.Basis.Eproject_first_vector_basis, 1.0);
+    }
+
+    // pure-Java backend
+
+    @Benchmark
+    public JavaMvec javaMul() {
+        return ja.mul(jb);
+    }
+
+    @Benchmark
+    public double javaNorm() {
+        return ja.norm();
+    }
+
+    // grade-specialized types
+
+    @Benchmark
+    public Rotor vectorMul() {
+        return va.mul(va);
+    }
+
+    @Benchmark
+    public Rotor rotorMul() {
+        return ra.mul(ra);
+    }
+
+    @Benchmark
+    public Vector rotorApply() {
+        return ra.apply(va);
+    }
+
+    /** Whole-batch products, reported per batch. */
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"1024"})
+        public int size;
+
+        MvecBatch x;
+        MvecBatch y;
+        MvecBatch out;
+        double[] norms;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            NativeLoader.load();
+            x = MvecBatch.allocate(size);
+            y = MvecBatch.allocate(size);
+            out = MvecBatch.allocate(size);
+            norms = new double[size];
+            for (int e = 0; e < size; e++) {
+                x.set(e, Mvec.Basis.SCALAR, 1.0 + e);
+                x.set(e, Mvec.Basis.Eproject_first_vector_basis, 0.5 * e);
+                y.set(e, Mvec.Basis.Eproject_second_vector_basis, 2.0 - e);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            x.close();
+            y.close();
+            out.close();
+        }
+    }
+
+    @Benchmark
+    public MvecBatch batchMul(Batch s) {
+        return s.x.mul(s.y, s.out);
+    }
+
+    @Benchmark
+    public double[] batchNorm(Batch s) {
+        return s.x.norm(s.norms);
+    }
+
+    /** Point-cloud transforms on the common pool, reported per array. */
+    @State(Scope.Benchmark)
+    public static class Cloud {
+        @Param({"1000000"})
+        public int size;
+
+        MvecArray points;
+        MvecArray out;
+        Mvec rotor;
+        Mvec reverse;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            NativeLoader.load();
+            points = new MvecArray(size);
+            out = new MvecArray(size);
+            for (int e = 0; e < size; e++) {
+                points.set(e, Mvec.Basis.Eproject_first_vector_basis, 1.0 + e % 17);
+                points.set(e, Mvec.Basis.Eproject_second_vector_basis, 0.5 * (e % 5));
+            }
+            int plane = Mvec.Basis.Eproject_first_vector_basis | Mvec.Basis.Eproject_second_vector_basis;
+            rotor = new Mvec(0.8);
+            rotor.set(plane, 0.6);
+            reverse = new Mvec(0.8);
+            reverse.set(plane, -0.6);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            rotor.close();
+            reverse.close();
+        }
+    }
+
+    @Benchmark
+    public MvecArray arrayRotate(Cloud s) {
+        return s.points.mapMul(s.rotor, s.reverse, s.out);
+    }
+
+    @Benchmark
+    public double arraySumNorms(Cloud s) {
+        return s.points.sumNorms();
+    }
+}
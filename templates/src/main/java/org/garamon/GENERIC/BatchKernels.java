@@ -0,0 +1,83 @@
+package org.garamon.project_namespace;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Element-wise loops over the blade columns of an {@link MvecBatch}.
+ * Offsets and lengths are expressed in doubles.
+ *
+ * <p>When the {@code jdk.incubator.vector} module is present and the platform
+ * has a vector shape of at least two doubles, the loops run on
+ * {@link VectorBatchKernels}; otherwise the scalar loops below are used.
+ * Run with {@code -Dgaramon.simd=false} to force the scalar loops. Each
+ * loop also takes the path as an argument, so that both can be compared.</p>
+ */
+final class BatchKernels {
+    private static final ValueLayout.OfDouble D = ValueLayout.JAVA_DOUBLE;
+
+    static final boolean SIMD = Boolean.parseBoolean(System.getProperty("garamon.simd", "true"))
+            && vectorSupport();
+
+    private BatchKernels() {}
+
+    /** {@code out[ro + e] += c * a[ao + e] * b[bo + e]} for {@code e} in {@code [0, n)}. */
+    static void fma(MemorySegment out, long ro, double c, MemorySegment a, long ao, MemorySegment b, long bo, int n) {
+        fma(out, ro, c, a, ao, b, bo, n, SIMD);
+    }
+
+    static void fma(MemorySegment out, long ro, double c, MemorySegment a, long ao, MemorySegment b, long bo, int n,
+                    boolean simd) {
+        int done = simd ? VectorBatchKernels.fma(out, ro, c, a, ao, b, bo, n) : 0;
+        for (int e = done; e < n; e++) {
+            double v = out.getAtIndex(D, ro + e) + c * a.getAtIndex(D, ao + e) * b.getAtIndex(D, bo + e);
+            out.setAtIndex(D, ro + e, v);
+        }
+    }
+
+    /** {@code out[ro + e] += w * x[xo + e]} for {@code e} in {@code [0, n)}. */
+    static void axpy(MemorySegment out, long ro, double w, MemorySegment x, long xo, int n) {
+        axpy(out, ro, w, x, xo, n, SIMD);
+    }
+
+    static void axpy(MemorySegment out, long ro, double w, MemorySegment x, long xo, int n, boolean simd) {
+        int done = simd ? VectorBatchKernels.axpy(out, ro, w, x, xo, n) : 0;
+        for (int e = done; e < n; e++) {
+            out.setAtIndex(D, ro + e, out.getAtIndex(D, ro + e) + w * x.getAtIndex(D, xo + e));
+        }
+    }
+
+    /** {@code out[e] = a[e] + b[e]} for {@code e} in {@code [0, n)}. */
+    static void add(MemorySegment out, MemorySegment a, MemorySegment b, long n) {
+        add(out, a, b, n, SIMD);
+    }
+
+    static void add(MemorySegment out, MemorySegment a, MemorySegment b, long n, boolean simd) {
+        long done = simd ? VectorBatchKernels.add(out, a, b, n) : 0;
+        for (long e = done; e < n; e++) {
+            out.setAtIndex(D, e, a.getAtIndex(D, e) + b.getAtIndex(D, e));
+        }
+    }
+
+    /** {@code out[e] = sqrt(abs(q[e]))} for {@code e} in {@code [0, n)}. */
+    static void sqrtAbs(double[] out, MemorySegment q, int n) {
+        sqrtAbs(out, q, n, SIMD);
+    }
+
+    static void sqrtAbs(double[] out, MemorySegment q, int n, boolean simd) {
+        int done = simd ? VectorBatchKernels.sqrtAbs(out, q, n) : 0;
+        for (int e = done; e < n; e++) {
+            out[e] = Math.sqrt(Math.abs(q.getAtIndex(D, e)));
+        }
+    }
+
+    /** Probes the incubator module without failing when it is absent. */
+    private static boolean vectorSupport() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+        try {
+            return VectorBatchKernels.lanes() >= 2;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.garamon.project_namespace;
+
+/**
+ * Bivector of the algebra, a multivector of grade 2 with one {@code double}
+ * component per basis bivector. Generated like {@link Vector}.
+ */
+//@garamon:bivector-type
@@ -0,0 +1,44 @@
+package org.garamon.project_namespace;
+
+/**
+ * Basis blade metadata of the algebra, derived from {@link Mvec.Basis}.
+ *
+ * <p>Blades are indexed by the bitmask of their basis vectors, so the grade of
+ * a blade is the number of bits set in its index.</p>
+ */
+final class Blades {
+    /** Number of basis blades, i.e. {@code 2^DIMENSION}. */
+    static final int COUNT = Mvec.Basis.class.getFields().length;
+    /** Dimension of the vector space. */
+    static final int DIMENSION = Integer.numberOfTrailingZeros(COUNT);
+
+    private static final int[][] BY_GRADE = new int[DIMENSION + 1][];
+
+    static {
+        int[] counts = new int[DIMENSION + 1];
+        for (int b = 0; b < COUNT; b++) counts[grade(b)]++;
+        for (int g = 0; g <= DIMENSION; g++) BY_GRADE[g] = new int[counts[g]];
+        java.util.Arrays.fill(counts, 0);
+        for (int b = 0; b < COUNT; b++) {
+            int g = grade(b);
+            BY_GRADE[g][counts[g]++] = b;
+        }
+    }
+
+    private Blades() {}
+
+    static int grade(int blade) {
+        return Integer.bitCount(blade);
+    }
+
+    /** @return The indices of the blades of grade {@code grade}, in increasing order. Must not be modified. */
+    static int[] ofGrade(int grade) {
+        return BY_GRADE[grade];
+    }
+
+    /** @return +1 or -1, the sign taken by the blade under reversion. */
+    static double reverseSign(int blade) {
+        int g = grade(blade);
+        return ((g * (g - 1) / 2) & 1) == 0 ? 1.0 : -1.0;
+    }
+}
@@ -0,0 +1,809 @@
+package org.garamon.GENERIC;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Java code generator working from the native library.
+ *
+ * <p>The products of the algebra are sampled on its basis blades through
+ * {@link Mvec_h}, and emitted as straight-line Java code in place of the
+ * {@code //@garamon:<name>} marker lines of the templates.</p>
+ */
+final class GaramonCodegen {
+    private static final Pattern MARKER = Pattern.compile("(?m)^[ \\t]*//@garamon:([a-z-]+)[ \\t]*$");
+    /** Above this number of blades, kernels delegate to ProductTable instead of being unrolled. */
+    private static final int MAX_UNROLLED_BLADES = 64;
+    /** Above this number of terms, a kernel is split into one method per output blade to stay JIT friendly. */
+    private static final int MAX_KERNEL_TERMS = 200;
+    private static final int TERMS_PER_LINE = 4;
+
+    record Term(int i, int j, int k, double c) {}
+
+    /** The grades a product of blades of grades {@code ga} and {@code gb} may have, as a bitmask, whatever the metric. */
+    @FunctionalInterface
+    private interface GradeRule {
+        int grades(int ga, int gb, int dimension);
+    }
+
+    private record Product(String name, String table, String doc, BinaryOperator<MemorySegment> op, GradeRule rule) {}
+
+    private static final List<Product> PRODUCTS = List.of(
+            new Product("mul", "MUL", "geometric product {@code this * b}", Mvec_h::Mvec_mul,
+                    GaramonCodegen::mulGrades),
+            new Product("outer", "OUTER", "outer product {@code this ^ b}", Mvec_h::Mvec_outer,
+                    (ga, gb, d) -> ga + gb <= d ? 1 << (ga + gb) : 0),
+            new Product("inner", "INNER", "inner product {@code this . b}", Mvec_h::Mvec_inner,
+                    (ga, gb, d) -> 1 << Math.abs(ga - gb)),
+            new Product("leftContraction", "LEFT_CONTRACTION", "left contraction {@code this < b}",
+                    Mvec_h::Mvec_left_contraction, (ga, gb, d) -> ga <= gb ? 1 << (gb - ga) : 0),
+            new Product("rightContraction", "RIGHT_CONTRACTION", "right contraction {@code this > b}",
+                    Mvec_h::Mvec_right_contraction, (ga, gb, d) -> ga >= gb ? 1 << (ga - gb) : 0));
+
+    private static final Pattern BLADE_FACTORY = Pattern.compile("Mvec_e([A-Za-z0-9]+)");
+    private static final String ARGUMENT_WRAP = "\n                    ";
+    private static final String RETURN_WRAP = "\n               ";
+
+    /**
+     * A grade-specialized multivector type, with one component per blade of its grades.
+     * @param noun Its name in lower case, also the marker of its template, {@code //@garamon:<noun>-type}.
+     * @param grades The bitmask of its grades, only those of the algebra.
+     */
+    private record GradeType(String name, String noun, int grades) {
+        boolean hasBlade(int blade) {
+            return (grades >>> Integer.bitCount(blade) & 1) != 0;
+        }
+
+        boolean holds(int grades) {
+            return (grades & ~this.grades) == 0;
+        }
+    }
+
+    /** Blade names, sampled once for all the templates. */
+    private static final class Names {
+        static final String[] NAMES = bladeNames(bladeCount());
+    }
+
+    private static final Map<String, List<Term>> TABLES = new ConcurrentHashMap<>();
+
+    private GaramonCodegen() {}
+
+    /**
+     * Replaces every generator marker line of {@code source} by its generated code.
+     * @param source A template source file.
+     * @return The expanded source, or {@code source} itself if it has no marker.
+     */
+    static String expand(String source) {
+        Matcher m = MARKER.matcher(source);
+        if (!m.find()) return source;
+        m.reset();
+        StringBuilder out = new StringBuilder(source.length());
+        while (m.find()) {
+            m.appendReplacement(out, Matcher.quoteReplacement(generate(m.group(1))));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    private static String generate(String name) {
+        return switch (name) {
+            case "java-kernels" -> javaKernels();
+            case "vector-type", "bivector-type", "rotor-type", "pseudoscalar-type" ->
+                    gradeType(name.substring(0, name.length() - "-type".length()));
+            default -> throw new IllegalArgumentException("Unknown generator marker: //@garamon:" + name);
+        };
+    }
+
+    static int bladeCount() {
+        MemorySegment ps = Mvec_h.Mvec_I();
+        try {
+            return 1 << Mvec_h.Mvec_get_highest_grade(ps);
+        } finally {
+            Mvec_h.Mvec_delete(ps);
+        }
+    }
+
+    /** @return The non-zero terms of {@code e_i op e_j}, for every pair of blades. */
+    static List<Term> table(String product) {
+        return TABLES.computeIfAbsent(product, name -> PRODUCTS.stream()
+                .filter(p -> p.name().equals(name))
+                .findFirst()
+                .map(p -> sample(p.op()))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown product: " + name)));
+    }
+
+    private static List<Term> sample(BinaryOperator<MemorySegment> op) {
+        int n = bladeCount();
+        List<Term> terms = new ArrayList<>();
+        MemorySegment[] basis = new MemorySegment[n];
+        try {
+            for (int k = 0; k < n; k++) {
+                basis[k] = Mvec_h.Mvec_new_empty();
+                Mvec_h.Mvec_set_coeff(basis[k], k, 1.0);
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    MemorySegment p = op.apply(basis[i], basis[j]);
+                    try {
+                        for (int k = 0; k < n; k++) {
+                            double c = Mvec_h.Mvec_get_coeff(p, k);
+                            if (c != 0.0) terms.add(new Term(i, j, k, c));
+                        }
+                    } finally {
+                        Mvec_h.Mvec_delete(p);
+                    }
+                }
+            }
+        } finally {
+            for (MemorySegment b : basis) {
+                if (b != null) Mvec_h.Mvec_delete(b);
+            }
+        }
+        return terms;
+    }
+
+    static double reverseSign(int blade) {
+        int g = Integer.bitCount(blade);
+        return ((g * (g - 1) / 2) & 1) == 0 ? 1.0 : -1.0;
+    }
+
+    private static String javaKernels() {
+        int n = bladeCount();
+        StringBuilder sb = new StringBuilder();
+        sb.append("    /** Number of basis blades of the algebra. */\n");
+        sb.append("    static final int COUNT = ").append(n).append(";\n");
+        if (n > MAX_UNROLLED_BLADES) {
+            // too large to unroll, use the tables sampled at run time
+            for (Product p : PRODUCTS) {
+                sb.append('\n');
+                sb.append("    static void ").append(p.name()).append("(double[] a, double[] b, double[] r) {\n");
+                sb.append("        Arrays.fill(r, 0.0);\n");
+                sb.append("        ProductTable.").append(p.table()).append(".accumulate(a, b, r);\n");
+                sb.append("    }\n");
+            }
+            sb.append("""
+
+                        static double quadraticNorm(double[] a) {
+                            double[] rev = new double[COUNT];
+                            for (int k = 0; k < COUNT; k++) rev[k] = Blades.reverseSign(k) * a[k];
+                            double[] r = new double[COUNT];
+                            ProductTable.MUL.accumulate(rev, a, r);
+                            return r[Mvec.Basis.SCALAR];
+                        }
+                    """);
+            return sb.toString();
+        }
+        for (Product p : PRODUCTS) {
+            sb.append('\n');
+            kernel(sb, p.name(), table(p.name()), n);
+        }
+        List<Term> quadratic = new ArrayList<>();
+        for (Term t : table("mul")) {
+            if (t.k() == 0) quadratic.add(new Term(t.i(), t.j(), 0, reverseSign(t.i()) * t.c()));
+        }
+        sb.append('\n');
+        sb.append("    static double quadraticNorm(double[] a) {\n");
+        sb.append("        return ").append(sum(quadratic, "a", "a")).append(";\n");
+        sb.append("    }\n");
+        return sb.toString();
+    }
+
+    private static void kernel(StringBuilder sb, String name, List<Term> terms, int n) {
+        List<List<Term>> byBlade = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) byBlade.add(new ArrayList<>());
+        for (Term t : terms) byBlade.get(t.k()).add(t);
+
+        boolean split = terms.size() > MAX_KERNEL_TERMS;
+        sb.append("    static void ").append(name).append("(double[] a, double[] b, double[] r) {\n");
+        for (int k = 0; k < n; k++) {
+            sb.append("        r[").append(k).append("] = ");
+            if (split && !byBlade.get(k).isEmpty()) {
+                sb.append(name).append(k).append("(a, b);\n");
+            } else {
+                sb.append(sum(byBlade.get(k), "a", "b")).append(";\n");
+            }
+        }
+        sb.append("    }\n");
+        if (!split) return;
+        for (int k = 0; k < n; k++) {
+            if (byBlade.get(k).isEmpty()) continue;
+            sb.append('\n');
+            sb.append("    private static double ").append(name).append(k).append("(double[] a, double[] b) {\n");
+            sb.append("        return ").append(sum(byBlade.get(k), "a", "b")).append(";\n");
+            sb.append("    }\n");
+        }
+    }
+
+    /**
+     * @return The name of every blade but the scalar, as in {@code Mvec.Basis.E<name>},
+     * found from the {@code Mvec_e<name>()} factories of the native library, null if it has none.
+     */
+    static String[] bladeNames(int n) {
+        String[] names = new String[n];
+        for (Method m : Mvec_h.class.getMethods()) {
+            Matcher name = BLADE_FACTORY.matcher(m.getName());
+            if (!name.matches() || !Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 0
+                    || m.getReturnType() != MemorySegment.class) continue;
+            MemorySegment mv;
+            try {
+                mv = (MemorySegment) m.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot call Mvec_h." + m.getName(), e);
+            }
+            try {
+                int k = unitBlade(mv, n);
+                if (k > 0 && names[k] == null) names[k] = name.group(1);
+            } finally {
+                Mvec_h.Mvec_delete(mv);
+            }
+        }
+        return names;
+    }
+
+    /** @return The index of the only non-zero coefficient of {@code mv} if it is 1, -1 otherwise. */
+    private static int unitBlade(MemorySegment mv, int n) {
+        int blade = -1;
+        for (int k = 0; k < n; k++) {
+            double c = Mvec_h.Mvec_get_coeff(mv, k);
+            if (c == 0.0) continue;
+            if (c != 1.0 || blade >= 0) return -1;
+            blade = k;
+        }
+        return blade;
+    }
+
+    private static String field(int blade) {
+        if (blade == 0) return "scalar";
+        String name = Names.NAMES[blade];
+        return name != null ? "e" + name : "blade" + blade;
+    }
+
+    private static String basis(int blade) {
+        if (blade == 0) return "Mvec.Basis.SCALAR";
+        String name = Names.NAMES[blade];
+        return name != null ? "Mvec.Basis.E" + name : Integer.toString(blade);
+    }
+
+    private static List<GradeType> gradeTypes(int n) {
+        int dimension = Integer.numberOfTrailingZeros(n);
+        return List.of(
+                gradeType("Vector", dimension, g -> g == 1),
+                gradeType("Bivector", dimension, g -> g == 2),
+                gradeType("Rotor", dimension, g -> g % 2 == 0),
+                gradeType("Pseudoscalar", dimension, g -> g == dimension));
+    }
+
+    private static GradeType gradeType(String name, int dimension, IntPredicate grades) {
+        int mask = 0;
+        for (int g = 0; g <= dimension; g++) {
+            if (grades.test(g)) mask |= 1 << g;
+        }
+        return new GradeType(name, name.toLowerCase(Locale.ROOT), mask);
+    }
+
+    /** @return The blades of {@code type}, by grade then by index, like {@code Mvec.copyNonZeroTo}. */
+    private static int[] blades(GradeType type, int n) {
+        int[] blades = new int[n];
+        int size = 0;
+        for (int g = 0; g <= Integer.numberOfTrailingZeros(n); g++) {
+            for (int k = 0; k < n; k++) {
+                if (Integer.bitCount(k) == g && type.hasBlade(k)) blades[size++] = k;
+            }
+        }
+        return Arrays.copyOf(blades, size);
+    }
+
+    private static int mulGrades(int ga, int gb, int dimension) {
+        int grades = 0;
+        for (int g = Math.abs(ga - gb); g <= Math.min(ga + gb, 2 * dimension - ga - gb); g += 2) {
+            grades |= 1 << g;
+        }
+        return grades;
+    }
+
+    /**
+     * @return The grades the product {@code p} of {@code a} by {@code b} may
+     * have in any metric, as a bitmask, 0 if it always vanishes.
+     */
+    private static int grades(Product p, GradeType a, GradeType b, int dimension) {
+        int grades = 0;
+        for (int ga = 0; ga <= dimension; ga++) {
+            if ((a.grades() >>> ga & 1) == 0) continue;
+            for (int gb = 0; gb <= dimension; gb++) {
+                if ((b.grades() >>> gb & 1) != 0) grades |= p.rule().grades(ga, gb, dimension);
+            }
+        }
+        return grades;
+    }
+
+    /** @return The smallest grade type holding {@code grades}, the first one on a tie, or null if none does. */
+    private static GradeType smallest(List<GradeType> types, int grades, int n) {
+        return types.stream()
+                .filter(t -> t.holds(grades))
+                .min(Comparator.comparingInt(t -> blades(t, n).length))
+                .orElse(null);
+    }
+
+    /** @return The comma separated {@code item(blade)} of every blade, wrapped every few items. */
+    private static String list(int[] blades, IntFunction<String> item, String wrap) {
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < blades.length; t++) {
+            if (t > 0) sb.append(t % TERMS_PER_LINE == 0 ? "," + wrap : ", ");
+            sb.append(item.apply(blades[t]));
+        }
+        return sb.toString();
+    }
+
+    private static String gradeType(String noun) {
+        int n = bladeCount();
+        List<GradeType> types = gradeTypes(n);
+        GradeType type = types.stream().filter(t -> t.noun().equals(noun)).findFirst().orElseThrow();
+        if (n > MAX_UNROLLED_BLADES) {
+            return arrayType(type, types, n);
+        }
+        String name = type.name();
+        int[] blades = blades(type, n);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("public record ").append(name).append('(')
+          .append(list(blades, k -> "double " + field(k), "\n        ")).append(") {\n");
+        sb.append("    /** The zero ").append(noun).append(". */\n");
+        sb.append("    public static final ").append(name).append(" ZERO = new ").append(name).append('(')
+          .append(list(blades, k -> "0.0", "\n            ")).append(");\n");
+
+        sb.append("""
+
+                    /**
+                     * @param mv A native multivector.
+                     * @return The %s part of {@code mv}, its other blades are ignored.
+                     */
+                    public static %s from(Mvec mv) {
+                """.formatted(noun, name));
+        if (blades.length <= TERMS_PER_LINE) {
+            sb.append("        return new ").append(name).append('(')
+              .append(list(blades, k -> "mv.get(" + basis(k) + ")", ARGUMENT_WRAP)).append(");\n");
+        } else {
+            // one native call instead of one per component
+            sb.append("        double[] c = new double[Blades.COUNT];\n");
+            sb.append("        mv.copyCoefficientsTo(c, 0);\n");
+            sb.append("        return new ").append(name).append("(\n                ")
+              .append(list(blades, k -> "c[" + basis(k) + "]", "\n                ")).append(");\n");
+        }
+        sb.append("    }\n");
+
+        sb.append("""
+
+                    /**
+                     * @param mv A pure-Java multivector.
+                     * @return The %s part of {@code mv}, its other blades are ignored.
+                     */
+                    public static %s from(JavaMvec mv) {
+                        return new %s(%s);
+                    }
+
+                    /**
+                     * @return A native multivector equal to this %s.
+                     */
+                    public Mvec toMvec() {
+                        Mvec mv = new Mvec();
+                """.formatted(noun, name, name, list(blades, k -> "mv.get(" + basis(k) + ")", ARGUMENT_WRAP), noun));
+        for (int k : blades) {
+            // setting a zero would still allocate its grade on the native side
+            sb.append("        if (").append(field(k)).append(" != 0.0) mv.set(").append(basis(k)).append(", ")
+              .append(field(k)).append(");\n");
+        }
+        sb.append("""
+                        return mv;
+                    }
+
+                    /**
+                     * @return A pure-Java multivector equal to this %s.
+                     */
+                    public JavaMvec toJavaMvec() {
+                        double[] c = new double[Blades.COUNT];
+                """.formatted(noun));
+        for (int k : blades) {
+            sb.append("        c[").append(basis(k)).append("] = ").append(field(k)).append(";\n");
+        }
+        sb.append("        return JavaMvec.wrap(c);\n");
+        sb.append("    }\n");
+
+        for (String[] op : new String[][] {{"add", "+"}, {"sub", "-"}}) {
+            sb.append('\n');
+            sb.append("    public ").append(name).append(' ').append(op[0]).append('(').append(name).append(" b) {\n");
+            sb.append("        return new ").append(name).append('(')
+              .append(list(blades, k -> field(k) + ' ' + op[1] + " b." + field(k), ARGUMENT_WRAP)).append(");\n");
+            sb.append("    }\n");
+        }
+        sb.append('\n');
+        sb.append("    public ").append(name).append(" mul(double s) {\n");
+        sb.append("        return new ").append(name).append('(')
+          .append(list(blades, k -> field(k) + " * s", ARGUMENT_WRAP)).append(");\n");
+        sb.append("    }\n");
+
+        sb.append('\n');
+        sb.append("    /**\n");
+        sb.append("     * @return The reverse of this ").append(noun).append(".\n");
+        sb.append("     */\n");
+        sb.append("    public ").append(name).append(" reverse() {\n");
+        if (Arrays.stream(blades).allMatch(k -> reverseSign(k) > 0)) {
+            sb.append("        return this;\n");
+        } else {
+            sb.append("        return new ").append(name).append('(')
+              .append(list(blades, k -> (reverseSign(k) < 0 ? "-" : "") + field(k), ARGUMENT_WRAP)).append(");\n");
+        }
+        sb.append("    }\n");
+
+        List<Term> quadratic = new ArrayList<>();
+        for (Term t : table("mul")) {
+            if (t.k() == 0 && type.hasBlade(t.i()) && type.hasBlade(t.j())) {
+                quadratic.add(new Term(t.i(), t.j(), 0, reverseSign(t.i()) * t.c()));
+            }
+        }
+        sb.append("""
+
+                    /**
+                     * The L2-norm, {@code sqrt(abs(<reverse(mv) * mv>_0))}.
+                     * @return The L2-norm of this %s.
+                     */
+                    public double norm() {
+                        return Math.sqrt(Math.abs(%s));
+                    }
+                """.formatted(noun, sum(quadratic, GaramonCodegen::field, GaramonCodegen::field, RETURN_WRAP)));
+
+        if (noun.equals("rotor")) {
+            sandwich(sb, type, types.get(0), n);
+        }
+        for (GradeType other : types) {
+            for (Product p : PRODUCTS) {
+                product(sb, type, other, p, types, n);
+            }
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Emits {@code apply(Vector)}, the vector part of {@code r * v * reverse(r)},
+     * in two steps so that the number of terms stays linear in each product.
+     */
+    private static void sandwich(StringBuilder sb, GradeType rotor, GradeType vector, int n) {
+        List<List<Term>> left = new ArrayList<>(n);
+        List<List<Term>> right = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            left.add(new ArrayList<>());
+            right.add(new ArrayList<>());
+        }
+        for (Term t : table("mul")) {
+            if (rotor.hasBlade(t.i()) && vector.hasBlade(t.j())) {
+                left.get(t.k()).add(t);
+            }
+        }
+        for (Term t : table("mul")) {
+            if (!left.get(t.i()).isEmpty() && rotor.hasBlade(t.j()) && vector.hasBlade(t.k())) {
+                right.get(t.k()).add(new Term(t.i(), t.j(), t.k(), reverseSign(t.j()) * t.c()));
+            }
+        }
+        sb.append('\n');
+        sb.append("    /**\n");
+        sb.append("     * Applies this rotor to a vector, {@code this * v * reverse(this)}.\n");
+        sb.append("     * @param v A vector.\n");
+        sb.append("     * @return The vector part of the sandwich product, all of it if this rotor is a versor.\n");
+        sb.append("     */\n");
+        sb.append("    public Vector apply(Vector v) {\n");
+        for (int m = 0; m < n; m++) {
+            if (left.get(m).isEmpty()) continue;
+            sb.append("        double t").append(m).append(" = ")
+              .append(sum(left.get(m), GaramonCodegen::field, j -> "v." + field(j) + "()", ARGUMENT_WRAP))
+              .append(";\n");
+        }
+        sb.append("        return new Vector(\n");
+        int[] blades = blades(vector, n);
+        for (int t = 0; t < blades.length; t++) {
+            sb.append("                ")
+              .append(sum(right.get(blades[t]), i -> "t" + i, GaramonCodegen::field, ARGUMENT_WRAP))
+              .append(t < blades.length - 1 ? ",\n" : ");\n");
+        }
+        sb.append("    }\n");
+    }
+
+    /**
+     * Emits the product {@code p} of {@code a} by {@code b}, typed from the
+     * grades it may have in any metric: the smallest grade type holding them,
+     * a {@code double} if it is a scalar and a {@code JavaMvec} if no grade
+     * type holds it. Nothing is emitted for a product that vanishes by grades,
+     * so the methods only depend on the dimension of the algebra.
+     */
+    private static void product(StringBuilder sb, GradeType a, GradeType b, Product p, List<GradeType> types, int n) {
+        int grades = grades(p, a, b, Integer.numberOfTrailingZeros(n));
+        if (grades == 0) return;
+        GradeType type = grades == 1 ? null : smallest(types, grades, n);
+        String returned = grades == 1 ? "double" : type != null ? type.name() : "JavaMvec";
+        List<Term> terms = new ArrayList<>();
+        for (Term t : table(p.name())) {
+            if (a.hasBlade(t.i()) && b.hasBlade(t.j())) {
+                if ((grades >>> Integer.bitCount(t.k()) & 1) == 0) {
+                    throw new IllegalStateException(p.name() + " of blades " + t.i() + " and " + t.j()
+                            + " has a term of blade " + t.k() + ", outside the grades of its rule");
+                }
+                terms.add(t);
+            }
+        }
+        String method = p.name();
+        boolean split = terms.size() > MAX_KERNEL_TERMS;
+
+        List<List<Term>> byBlade = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) byBlade.add(new ArrayList<>());
+        for (Term t : terms) byBlade.get(t.k()).add(t);
+        IntFunction<String> component = k -> byBlade.get(k).isEmpty() ? "0.0"
+                : split ? method + b.name() + k + "(b)"
+                : sum(byBlade.get(k), GaramonCodegen::field, j -> "b." + field(j) + "()",
+                        returned.equals("double") ? RETURN_WRAP : ARGUMENT_WRAP);
+
+        productHeader(sb, b, p, returned);
+        if (returned.equals("double")) {
+            sb.append("        return ").append(component.apply(0)).append(";\n");
+        } else if (type != null) {
+            // one component per line, they are long sums
+            StringBuilder args = new StringBuilder();
+            for (int k : blades(type, n)) {
+                if (!args.isEmpty()) args.append(",\n");
+                args.append("                ").append(component.apply(k));
+            }
+            sb.append("        return new ").append(returned).append("(\n").append(args).append(");\n");
+        } else {
+            sb.append("        double[] r = new double[Blades.COUNT];\n");
+            for (int k = 0; k < n; k++) {
+                if (byBlade.get(k).isEmpty()) continue;
+                sb.append("        r[").append(basis(k)).append("] = ").append(component.apply(k)).append(";\n");
+            }
+            sb.append("        return JavaMvec.wrap(r);\n");
+        }
+        sb.append("    }\n");
+        if (!split) return;
+        for (int k = 0; k < n; k++) {
+            if (byBlade.get(k).isEmpty()) continue;
+            sb.append('\n');
+            sb.append("    private double ").append(method).append(b.name()).append(k)
+              .append('(').append(b.name()).append(" b) {\n");
+            sb.append("        return ")
+              .append(sum(byBlade.get(k), GaramonCodegen::field, j -> "b." + field(j) + "()", RETURN_WRAP))
+              .append(";\n");
+            sb.append("    }\n");
+        }
+    }
+
+    private static void productHeader(StringBuilder sb, GradeType b, Product p, String returned) {
+        sb.append('\n');
+        sb.append("    /**\n");
+        sb.append("     * @param b ").append("aeiou".indexOf(b.noun().charAt(0)) >= 0 ? "An " : "A ")
+          .append(b.noun()).append(".\n");
+        sb.append("     * @return The ").append(p.doc()).append(".\n");
+        sb.append("     */\n");
+        sb.append("    public ").append(returned).append(' ').append(p.name())
+          .append('(').append(b.name()).append(" b) {\n");
+    }
+
+    /**
+     * Emits a grade type for an algebra too large to unroll: a class storing
+     * its components in an array, whose products go through the
+     * {@code ProductTable} sampled at run time. It has the conversions and
+     * the products of the records, and {@code get(int)} in place of their
+     * component accessors.
+     */
+    private static String arrayType(GradeType type, List<GradeType> types, int n) {
+        String name = type.name();
+        StringBuilder sb = new StringBuilder();
+        sb.append("""
+                public final class %1$s {
+                    // bitmask of the grades of the components
+                    private static final int GRADES = 0b%3$s;
+                    // blade of each component, in increasing order
+                    private static final int[] BLADES = java.util.stream.IntStream.range(0, Blades.COUNT)
+                            .filter(k -> (GRADES >>> Blades.grade(k) & 1) != 0)
+                            .toArray();
+
+                    /** The zero %2$s. */
+                    public static final %1$s ZERO = new %1$s(new double[BLADES.length]);
+
+                    private final double[] c;
+
+                    private %1$s(double[] c) {
+                        this.c = c;
+                    }
+
+                    /**
+                     * @param mv A native multivector.
+                     * @return The %2$s part of {@code mv}, its other blades are ignored.
+                     */
+                    public static %1$s from(Mvec mv) {
+                        double[] all = new double[Blades.COUNT];
+                        mv.copyCoefficientsTo(all, 0);
+                        return project(all);
+                    }
+
+                    /**
+                     * @param mv A pure-Java multivector.
+                     * @return The %2$s part of {@code mv}, its other blades are ignored.
+                     */
+                    public static %1$s from(JavaMvec mv) {
+                        double[] c = new double[BLADES.length];
+                        for (int t = 0; t < c.length; t++) c[t] = mv.get(BLADES[t]);
+                        return new %1$s(c);
+                    }
+
+                    /** @return The %2$s part of the coefficients of every blade. */
+                    static %1$s project(double[] all) {
+                        double[] c = new double[BLADES.length];
+                        for (int t = 0; t < c.length; t++) c[t] = all[BLADES[t]];
+                        return new %1$s(c);
+                    }
+
+                    /** @return The coefficients of every blade. */
+                    double[] dense() {
+                        double[] all = new double[Blades.COUNT];
+                        for (int t = 0; t < c.length; t++) all[BLADES[t]] = c[t];
+                        return all;
+                    }
+
+                    /**
+                     * @param blade A basis blade index, like {@link Mvec.Basis}.
+                     * @return Its coefficient, 0 if it is not a blade of this type.
+                     */
+                    public double get(int blade) {
+                        int t = java.util.Arrays.binarySearch(BLADES, blade);
+                        return t < 0 ? 0.0 : c[t];
+                    }
+
+                    /**
+                     * @return A native multivector equal to this %2$s.
+                     */
+                    public Mvec toMvec() {
+                        Mvec mv = new Mvec();
+                        for (int t = 0; t < c.length; t++) {
+                            // setting a zero would still allocate its grade on the native side
+                            if (c[t] != 0.0) mv.set(BLADES[t], c[t]);
+                        }
+                        return mv;
+                    }
+
+                    /**
+                     * @return A pure-Java multivector equal to this %2$s.
+                     */
+                    public JavaMvec toJavaMvec() {
+                        return JavaMvec.wrap(dense());
+                    }
+
+                    public %1$s add(%1$s b) {
+                        double[] r = new double[c.length];
+                        for (int t = 0; t < r.length; t++) r[t] = c[t] + b.c[t];
+                        return new %1$s(r);
+                    }
+
+                    public %1$s sub(%1$s b) {
+                        double[] r = new double[c.length];
+                        for (int t = 0; t < r.length; t++) r[t] = c[t] - b.c[t];
+                        return new %1$s(r);
+                    }
+
+                    public %1$s mul(double s) {
+                        double[] r = new double[c.length];
+                        for (int t = 0; t < r.length; t++) r[t] = c[t] * s;
+                        return new %1$s(r);
+                    }
+
+                    /**
+                     * @return The reverse of this %2$s.
+                     */
+                    public %1$s reverse() {
+                        double[] r = new double[c.length];
+                        for (int t = 0; t < r.length; t++) r[t] = Blades.reverseSign(BLADES[t]) * c[t];
+                        return new %1$s(r);
+                    }
+
+                    /**
+                     * The L2-norm, {@code sqrt(abs(<reverse(mv) * mv>_0))}.
+                     * @return The L2-norm of this %2$s.
+                     */
+                    public double norm() {
+                        return Math.sqrt(Math.abs(ProductTable.MUL.apply(reverse().dense(), dense())[Mvec.Basis.SCALAR]));
+                    }
+
+                    @Override
+                    public boolean equals(Object o) {
+                        return o instanceof %1$s other && java.util.Arrays.equals(c, other.c);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return java.util.Arrays.hashCode(c);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "%1$s" + java.util.Arrays.toString(c);
+                    }
+                """.formatted(name, type.noun(), Integer.toBinaryString(type.grades())));
+        if (type.noun().equals("rotor")) {
+            sb.append("""
+
+                        /** @return The scalar component of this rotor. */
+                        public double scalar() {
+                            return c[0];
+                        }
+
+                        /**
+                         * Applies this rotor to a vector, {@code this * v * reverse(this)}.
+                         * @param v A vector.
+                         * @return The vector part of the sandwich product, all of it if this rotor is a versor.
+                         */
+                        public Vector apply(Vector v) {
+                            double[] t = ProductTable.MUL.apply(dense(), v.dense());
+                            return Vector.project(ProductTable.MUL.apply(t, reverse().dense()));
+                        }
+                    """);
+        }
+        int dimension = Integer.numberOfTrailingZeros(n);
+        for (GradeType other : types) {
+            for (Product p : PRODUCTS) {
+                int grades = grades(p, type, other, dimension);
+                if (grades == 0) continue;
+                GradeType result = grades == 1 ? null : smallest(types, grades, n);
+                String returned = grades == 1 ? "double" : result != null ? result.name() : "JavaMvec";
+                String product = "ProductTable." + p.table() + ".apply(dense(), b.dense())";
+                productHeader(sb, other, p, returned);
+                sb.append("        return ").append(switch (returned) {
+                    case "double" -> product + "[Mvec.Basis.SCALAR]";
+                    case "JavaMvec" -> "JavaMvec.wrap(" + product + ")";
+                    default -> returned + ".project(" + product + ")";
+                }).append(";\n");
+                sb.append("    }\n");
+            }
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /** @return The Java expression of {@code sum(c * a[i] * b[j])}. */
+    private static String sum(List<Term> terms, String a, String b) {
+        return sum(terms, i -> a + '[' + i + ']', j -> b + '[' + j + ']', "\n               ");
+    }
+
+    /**
+     * @param a The expression of the blade {@code i} of the first operand.
+     * @param b The expression of the blade {@code j} of the second operand.
+     * @param wrap The line break and indentation between groups of terms.
+     * @return The Java expression of {@code sum(c * a(i) * b(j))}.
+     */
+    private static String sum(List<Term> terms, IntFunction<String> a, IntFunction<String> b, String wrap) {
+        if (terms.isEmpty()) return "0.0";
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < terms.size(); t++) {
+            Term term = terms.get(t);
+            double c = term.c();
+            if (t == 0) {
+                if (c < 0) sb.append('-');
+            } else {
+                if (t % TERMS_PER_LINE == 0) sb.append(wrap);
+                sb.append(c < 0 ? " - " : " + ");
+            }
+            double abs = Math.abs(c);
+            if (abs != 1.0) sb.append(abs).append(" * ");
+            sb.append(a.apply(term.i())).append(" * ").append(b.apply(term.j()));
+        }
+        return sb.toString();
+    }
+}
@@ -1,36 +1,187 @@
 package org.garamon.GENERIC;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.garamon.GENERIC.Mvec_h.garamon_parser;
 
 public final class GaramonParser {
 
+    /** Templates reused for all files */
+    private static final String TMPL_ONE = """
+            /**
+             * @return a multivector that contains only the unit basis k-vector project_name_blade.
+             */
+            public static Mvec eproject_name_blade(){
+                MvecLeakDetector.reserve();
+                return new Mvec(Mvec_h.Mvec_eproject_name_blade());
+            }
+            """;
+    private static final String TMPL_CONS = "    int Eproject_name_blade = project_xor_index_blade;\n";
+
+    /**
+     * Whether garamon_parser may be called from several threads at once.
+     * The native parser does not document it, so calls are serialized unless
+     * {@code -Dgaramon.parser.reentrant=true} is given.
+     */
+    private static final boolean REENTRANT = Boolean.getBoolean("garamon.parser.reentrant");
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    /** Native templates shared by all the expansions, freed with this class. */
+    private static final class Templates {
+        private static final Arena ARENA = Arena.ofAuto();
+        static final MemorySegment ONE = ARENA.allocateFrom(TMPL_ONE);
+        static final MemorySegment CONS = ARENA.allocateFrom(TMPL_CONS);
+    }
+
+    /**
+     * Releases the strings returned by garamon_parser with garamon_parser_free,
+     * when the library exports it. The Garamon libraries do not export it yet,
+     * so by default every result is leaked: one string per expanded file,
+     * which adds up in a creator generating many algebras in one process.
+     * {@code -Dgaramon.parser.free=false} leaks them even when the symbol exists.
+     * <p>
+     * {@code -Dgaramon.parser.freeWithLibc=true} releases them with the C
+     * {@code free} instead when garamon_parser_free is missing. This is unsafe:
+     * it is undefined behaviour unless the library allocated the string with
+     * the {@code malloc} of that same C runtime, which nothing guarantees, e.g.
+     * on Windows or with a custom allocator.
+     */
+    private static final MethodHandle FREE = findFree();
+
+    private static MethodHandle findFree() {
+        if (!Boolean.parseBoolean(System.getProperty("garamon.parser.free", "true"))) {
+            return null;
+        }
+        Linker linker = Linker.nativeLinker();
+        Optional<MemorySegment> symbol = Mvec_h.SYMBOL_LOOKUP.find("garamon_parser_free");
+        if (symbol.isEmpty() && Boolean.getBoolean("garamon.parser.freeWithLibc")) {
+            symbol = linker.defaultLookup().find("free");
+        }
+        return symbol
+                .map(s -> linker.downcallHandle(s, FunctionDescriptor.ofVoid(ValueLayout.ADDRESS)))
+                .orElse(null);
+    }
+
     /** Call garamon_parser from native lib */
     public static String process(String data, String tmplOne, String tmplCons) {
         try (Arena arena = Arena.ofConfined()) {
-            MemorySegment sData = arena.allocateFrom(data);
-            MemorySegment sOne = arena.allocateFrom(tmplOne);
-            MemorySegment sCons = arena.allocateFrom(tmplCons);
-
-            // Native call will return const char* allocated on library side
-            // The memory will not be freed, but this not a problem because of the process
-            // TTL
-            MemorySegment cResult = garamon_parser(sData, sOne, sCons);
-            if (cResult == null || cResult.address() == 0) {
-                throw new IllegalStateException("garamon_parser returned NULL");
-            }
+            return parse(arena, data, arena.allocateFrom(tmplOne), arena.allocateFrom(tmplCons));
+        }
+    }
+
+    private static String parse(Arena arena, String data, MemorySegment sOne, MemorySegment sCons) {
+        MemorySegment sData = arena.allocateFrom(data);
+        if (REENTRANT) {
+            return call(sData, sOne, sCons);
+        }
+        LOCK.lock();
+        try {
+            return call(sData, sOne, sCons);
+        } finally {
+            LOCK.unlock();
+        }
+    }
 
+    private static String call(MemorySegment sData, MemorySegment sOne, MemorySegment sCons) {
+        // Native call will return const char* allocated on library side
+        MemorySegment cResult = garamon_parser(sData, sOne, sCons);
+        if (cResult == null || cResult.address() == 0) {
+            throw new IllegalStateException("garamon_parser returned NULL");
+        }
+        try {
             return cResult.getString(0);
+        } finally {
+            free(cResult);
+        }
+    }
+
+    private static void free(MemorySegment cResult) {
+        if (FREE == null) return;
+        try {
+            FREE.invokeExact(cResult);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Cannot free the garamon_parser result", t);
+        }
+    }
+
+    /**
+     * Expands a whole source file: native placeholders with the default
+     * templates, then the generated code markers.
+     * Used by the creator, which loads this class in process.
+     * @param data the content of the file
+     * @return the expanded content
+     */
+    public static String expand(String data) {
+        String parsed;
+        try (Arena arena = Arena.ofConfined()) {
+            parsed = parse(arena, data, Templates.ONE, Templates.CONS);
+        }
+        return GaramonCodegen.expand(parsed);
+    }
+
+    /**
+     * Expands source files in place, concurrently on virtual threads. The
+     * native calls are serialized unless the parser is declared reentrant,
+     * reading, code generation and writing always overlap.
+     * @param files the files to expand
+     * @return the failures, by file, empty if all the files were expanded
+     */
+    public static Map<Path, Exception> expandInPlace(List<Path> files) throws InterruptedException {
+        Map<Path, Future<?>> tasks = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                tasks.put(file, executor.submit(() -> {
+                    write(file, expand(Files.readString(file)));
+                    return null;
+                }));
+            }
+        }
+        Map<Path, Exception> failures = new LinkedHashMap<>();
+        for (Map.Entry<Path, Future<?>> task : tasks.entrySet()) {
+            try {
+                task.getValue().get();
+            } catch (ExecutionException e) {
+                failures.put(task.getKey(), e.getCause() instanceof Exception cause ? cause : e);
+            }
+        }
+        return failures;
+    }
+
+    /** Writes a whole file through a single channel. */
+    private static void write(Path file, String content) throws IOException {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(content);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
         }
     }
 
     public static void main(String[] args) throws Exception {
         boolean inplace = false;
-        java.util.List<Path> files = new java.util.ArrayList<>();
+        List<Path> files = new java.util.ArrayList<>();
 
         for (String arg : args) {
             if (arg.equals("--inplace")) {
@@ -47,37 +198,22 @@ public final class GaramonParser {
             printUsageAndExit();
         }
 
-        // Templates reused for all files
-        String tmplOne = """
-                /**
-                 * @return a multivector that contains only the unit basis k-vector project_name_blade.
-                 */
-                public static Mvec eproject_name_blade(){
-                    return new Mvec(Mvec_h.Mvec_eproject_name_blade());
-                }
-                """;
-        String tmplCons = "    int Eproject_name_blade = project_xor_index_blade;\n";
-
+        if (inplace) {
+            System.err.println("Parsing " + files.size() + " files");
+            expandInPlace(files).forEach((inFile, e) ->
+                    System.err.println("Error processing file " + inFile + ": " + e.getMessage()));
+            return;
+        }
         for (Path inFile : files) {
             try {
                 System.err.println("Parsing " + inFile);
-                processFile(inFile, inplace, tmplOne, tmplCons);
+                System.out.println(expand(Files.readString(inFile)));
             } catch (Exception e) {
                 System.err.println("Error processing file " + inFile + ": " + e.getMessage());
             }
         }
     }
 
-    private static void processFile(Path inFile, boolean inplace, String tmplOne, String tmplCons) throws Exception {
-        String data = Files.readString(inFile);
-        String result = GaramonParser.process(data, tmplOne, tmplCons);
-        if (inplace) {
-            Files.writeString(inFile, result);
-        } else {
-            System.out.println(result);
-        }
-    }
-
     private static void printUsageAndExit() {
         String usage = """
                 Garamon java parser for algebra GENERIC
@@ -0,0 +1,292 @@
+package org.garamon.project_namespace;
+
+import java.util.Arrays;
+
+/**
+ * Pure-Java multivector backed by a dense array of blade coefficients.
+ *
+ * <p>The products are generated as straight-line Java code from the native
+ * library when the algebra is created, so this class needs no native call and
+ * small multivectors can be fully inlined and scalar-replaced by the JIT.
+ * Coefficients are indexed like {@link Mvec.Basis}.</p>
+ */
+public final class JavaMvec implements Multivector<JavaMvec> {
+    private final double[] c;
+
+    private JavaMvec(double[] c) {
+        this.c = c;
+    }
+
+    /**
+     * Default constructor, generates an empty multivector equivalent to the scalar 0.
+     */
+    public JavaMvec() {
+        this(new double[COUNT]);
+    }
+
+    /**
+     * Constructor of JavaMvec from a scalar.
+     * @param v The scalar value.
+     */
+    public JavaMvec(double v) {
+        this(new double[COUNT]);
+        c[Mvec.Basis.SCALAR] = v;
+    }
+
+    /**
+     * Constructor of JavaMvec from a basis vector and a value.
+     * @param basisIndex The basis vector index related to the query.
+     * @param value The coefficient of the multivector corresponding to the "basisIndex" component.
+     */
+    public JavaMvec(int basisIndex, double value) {
+        this(new double[COUNT]);
+        c[basisIndex] = value;
+    }
+
+    /**
+     * @param coefficients The coefficients, indexed like {@link Mvec.Basis}. The array is copied.
+     * @return A multivector with the given coefficients.
+     */
+    public static JavaMvec of(double[] coefficients) {
+        if (coefficients.length != COUNT) {
+            throw new IllegalArgumentException("Expected " + COUNT + " coefficients, got " + coefficients.length);
+        }
+        return new JavaMvec(coefficients.clone());
+    }
+
+    /** @param c The coefficients, indexed like {@link Mvec.Basis}, owned by the result. */
+    static JavaMvec wrap(double[] c) {
+        return new JavaMvec(c);
+    }
+
+    /**
+     * @param mv A native multivector.
+     * @return A copy of {@code mv}.
+     */
+    public static JavaMvec from(Mvec mv) {
+        double[] c = new double[COUNT];
+        mv.copyCoefficientsTo(c, 0);
+        return new JavaMvec(c);
+    }
+
+    /**
+     * @return A native copy of this multivector.
+     */
+    public Mvec toMvec() {
+        Mvec mv = new Mvec();
+        mv.setCoefficients(c);
+        return mv;
+    }
+
+    /**
+     * @return A copy of the coefficients, indexed like {@link Mvec.Basis}.
+     */
+    public double[] toArray() {
+        return c.clone();
+    }
+
+    /**
+     * Defines the addition between two multivectors.
+     * @param b The second operand.
+     * @return The result of {@code this + b}.
+     */
+    @Override
+    public JavaMvec add(JavaMvec b) {
+        double[] r = new double[COUNT];
+        for (int k = 0; k < COUNT; k++) r[k] = c[k] + b.c[k];
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the addition between a multivector and a scalar.
+     * @param s The second operand (scalar).
+     * @return The result of {@code this + s}.
+     */
+    @Override
+    public JavaMvec add(double s) {
+        double[] r = c.clone();
+        r[Mvec.Basis.SCALAR] += s;
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the geometric product between two multivectors.
+     * @param b A multivector.
+     * @return The geometric product {@code this * b}.
+     */
+    @Override
+    public JavaMvec mul(JavaMvec b) {
+        double[] r = new double[COUNT];
+        mul(c, b.c, r);
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the multiplication of a multivector by a scalar.
+     * @param s A scalar.
+     * @return The result of {@code this * s}.
+     */
+    @Override
+    public JavaMvec mul(double s) {
+        double[] r = new double[COUNT];
+        for (int k = 0; k < COUNT; k++) r[k] = c[k] * s;
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the multiplication of a scalar by a multivector.
+     * @param s A scalar.
+     * @return The result of {@code s * this}.
+     */
+    @Override
+    public JavaMvec rmul(double s) {
+        return mul(s);
+    }
+
+    /**
+     * Defines the outer product between two multivectors.
+     * @param b A multivector.
+     * @return The outer product {@code this ^ b}.
+     */
+    @Override
+    public JavaMvec outer(JavaMvec b) {
+        double[] r = new double[COUNT];
+        outer(c, b.c, r);
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the inner product between two multivectors.
+     * @param b A multivector.
+     * @return The inner product {@code this . b}.
+     */
+    @Override
+    public JavaMvec inner(JavaMvec b) {
+        double[] r = new double[COUNT];
+        inner(c, b.c, r);
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the left contraction between two multivectors.
+     * @param b A multivector.
+     * @return The left contraction {@code this < b}.
+     */
+    @Override
+    public JavaMvec leftContraction(JavaMvec b) {
+        double[] r = new double[COUNT];
+        leftContraction(c, b.c, r);
+        return new JavaMvec(r);
+    }
+
+    /**
+     * Defines the right contraction between two multivectors.
+     * @param b A multivector.
+     * @return The right contraction {@code this > b}.
+     */
+    @Override
+    public JavaMvec rightContraction(JavaMvec b) {
+        double[] r = new double[COUNT];
+        rightContraction(c, b.c, r);
+        return new JavaMvec(r);
+    }
+
+    /**
+     * The L2-norm of the multivector, {@code sqrt(abs(<reverse(mv) * mv>_0))}.
+     * @return The L2-norm of the multivector (as a double).
+     */
+    @Override
+    public double norm() {
+        return Math.sqrt(Math.abs(quadraticNorm(c)));
+    }
+
+    /**
+     * @return The scalar part of the multivector.
+     */
+    @Override
+    public double toScalar() {
+        return c[Mvec.Basis.SCALAR];
+    }
+
+    /**
+     * For example, {@code double a = mv.get(Mvec.Basis.E12);}
+     * @param i The basis blade index, see {@link Mvec.Basis}.
+     * @return The coefficient of the multivector corresponding to the "i" component.
+     */
+    @Override
+    public double get(int i) {
+        return c[i];
+    }
+
+    /**
+     * For example, {@code mv.set(Mvec.Basis.E12, 42.0);}
+     * @param i The basis blade index, see {@link Mvec.Basis}.
+     * @param v The coefficient of the multivector corresponding to the "i" component.
+     */
+    @Override
+    public void set(int i, double v) {
+        c[i] = v;
+    }
+
+    /**
+     * Checks if a multivector is empty, i.e., corresponds to 0.
+     * @return True if the multivector is empty, else False.
+     */
+    @Override
+    public boolean isEmpty() {
+        for (double v : c) {
+            if (v != 0.0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Completely erases the content of a multivector.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(c, 0.0);
+    }
+
+    /**
+     * Partialy erases the content of a multivector.
+     * If {@code grade < 0}, erases the entire multivector; otherwise,
+     * only erases the part of grade "grade".
+     */
+    public void clear(int grade) {
+        for (int k = 0; k < COUNT; k++) {
+            if (grade < 0 || Integer.bitCount(k) == grade) c[k] = 0.0;
+        }
+    }
+
+    /**
+     * Returns the (highest) grade of the multivector.
+     * @return The highest grade of the multivector.
+     */
+    public int highestGrade() {
+        int grade = 0;
+        for (int k = 0; k < COUNT; k++) {
+            if (c[k] != 0.0) grade = Math.max(grade, Integer.bitCount(k));
+        }
+        return grade;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JavaMvec other && Arrays.equals(c, other.c);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(c);
+    }
+
+    @Override
+    public String toString() {
+        return "JavaMvec" + Arrays.toString(c);
+    }
+
+    // Kernels below are generated by GaramonCodegen. Each one overwrites r,
+    // which must not alias a or b.
+    //@garamon:java-kernels
+}
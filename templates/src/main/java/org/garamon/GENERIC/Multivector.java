@@ -0,0 +1,99 @@
+package org.garamon.project_namespace;
+
+/**
+ * Operations shared by the multivector backends of this algebra.
+ *
+ * <p>{@link Mvec} delegates to the native Garamon library, {@link JavaMvec} is a
+ * pure-Java implementation generated from the same algebra. Code written
+ * against this interface can switch between them.</p>
+ *
+ * @param <T> The implementing backend.
+ */
+public interface Multivector<T extends Multivector<T>> {
+
+    /**
+     * @param b The second operand.
+     * @return The result of {@code this + b}.
+     */
+    T add(T b);
+
+    /**
+     * @param s The second operand (scalar).
+     * @return The result of {@code this + s}.
+     */
+    T add(double s);
+
+    /**
+     * @param b A multivector.
+     * @return The geometric product {@code this * b}.
+     */
+    T mul(T b);
+
+    /**
+     * @param s A scalar.
+     * @return The result of {@code this * s}.
+     */
+    T mul(double s);
+
+    /**
+     * @param s A scalar.
+     * @return The result of {@code s * this}.
+     */
+    T rmul(double s);
+
+    /**
+     * @param b A multivector.
+     * @return The outer product {@code this ^ b}.
+     */
+    T outer(T b);
+
+    /**
+     * @param b A multivector.
+     * @return The inner product {@code this . b}.
+     */
+    T inner(T b);
+
+    /**
+     * @param b A multivector.
+     * @return The left contraction {@code this < b}.
+     */
+    T leftContraction(T b);
+
+    /**
+     * @param b A multivector.
+     * @return The right contraction {@code this > b}.
+     */
+    T rightContraction(T b);
+
+    /**
+     * @return The L2-norm of the multivector.
+     */
+    double norm();
+
+    /**
+     * @return The scalar part of the multivector.
+     */
+    double toScalar();
+
+    /**
+     * @param i The basis blade index, see {@link Mvec.Basis}.
+     * @return The coefficient of the blade.
+     */
+    double get(int i);
+
+    /**
+     * @param i The basis blade index, see {@link Mvec.Basis}.
+     * @param v The new coefficient of the blade.
+     */
+    void set(int i, double v);
+
+    /**
+     * @return True if the multivector is 0.
+     */
+    boolean isEmpty();
+
+    /**
+     * Erases the content of the multivector.
+     */
+    void clear();
+}
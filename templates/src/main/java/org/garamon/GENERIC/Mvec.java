@@ -1,9 +1,14 @@
 package org.garamon.project_namespace;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.Arena;
 import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
 import org.garamon.project_namespace.Mvec_h;
 
 /**
@@ -11,42 +16,303 @@ import org.garamon.project_namespace.Mvec_h;
  *
  * <p>This class provides a Java wrapper for the C++ Mvec class, allowing for
  * operations on multivectors in Geometric Algebra.</p>
+ *
+ * <p>A multivector is not thread-safe: it must be confined to one thread at a
+ * time, or accessed under external synchronization. Immutable multivectors,
+ * the shared constants and the ones made read-only with {@link #freeze()},
+ * are the exception: once safely published, e.g. through a final field or a
+ * concurrent collection, any number of threads may use them as operands at
+ * once, without locking. Run with {@code -Dgaramon.scope.debug=true} to get
+ * an {@link IllegalStateException} when a multivector is closed while another
+ * thread is still using it.</p>
  */
-public final class Mvec implements AutoCloseable {
+public final class Mvec implements AutoCloseable, Multivector<Mvec> {
     private static final Cleaner CLEANER = Cleaner.create();
 
+    static {
+        NativeLoader.load();
+    }
+
 
     private static final class Native implements Runnable {
+        private static final VarHandle USERS;
+        private static final int CLOSED = Integer.MIN_VALUE;
+
+        static {
+            try {
+                USERS = MethodHandles.lookup().findVarHandle(Native.class, "users", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
         MemorySegment seg;
+        // set on explicit release only, the Cleaner thread never feeds the pool
+        boolean recycle;
+        // debug mode only: the number of calls using seg, CLOSED once it is freed
+        volatile int users;
+        // where the Mvec was created, if the MvecLeakDetector samples it
+        MvecLeakDetector.AllocationSite site;
 
         Native(MemorySegment s) {
             this.seg = s;
         }
 
+        void enter() {
+            int u;
+            do {
+                u = users;
+                if (u == CLOSED) {
+                    throw new IllegalStateException("Mvec used after close() or after its MvecScope was closed");
+                }
+            } while (!USERS.compareAndSet(this, u, u + 1));
+        }
+
+        void exit() {
+            USERS.getAndAdd(this, -1);
+        }
+
         @Override
         public void run() {
-            if (seg != null)
-                Mvec_h.Mvec_delete(seg);
+            if (MvecScope.DEBUG && !USERS.compareAndSet(this, 0, CLOSED)) {
+                if (users == CLOSED) return;
+                throw new IllegalStateException("Mvec closed while in use by another thread");
+            }
+            if (seg != null) {
+                if (recycle) {
+                    recycle(seg);
+                } else {
+                    Mvec_h.Mvec_delete(seg);
+                }
+                seg = null;
+                MvecMetrics.freed(recycle);
+                MvecLeakDetector.freed(site, recycle);
+            }
         }
     }
 
+    /** Deletes a native multivector, or gives it back to the {@link MvecPool} of the current thread. */
+    private static void recycle(MemorySegment seg) {
+        if (!MvecPool.offer(seg)) {
+            Mvec_h.Mvec_delete(seg);
+        }
+    }
+
+    private static MemorySegment newEmpty() {
+        MemorySegment s = MvecPool.poll();
+        if (s != null) return s;
+        MvecLeakDetector.reserve();
+        return Mvec_h.Mvec_new_empty();
+    }
+
+    private static MemorySegment newScalar(double v) {
+        MemorySegment s = MvecPool.poll();
+        if (s == null) {
+            MvecLeakDetector.reserve();
+            return Mvec_h.Mvec_new_scalar(v);
+        }
+        NativeCalls.setCoeff(s, Basis.SCALAR, v);
+        return s;
+    }
+
+    // per-thread buffers of the bulk accessors
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static final class Scratch {
+        final Arena arena = Arena.ofAuto();
+        final MemorySegment grades = arena.allocate(
+                ValueLayout.JAVA_INT.byteSize() * (Blades.DIMENSION + 1), ValueLayout.JAVA_INT.byteAlignment());
+        final MemorySegment coefficients = arena.allocate(
+                ValueLayout.JAVA_DOUBLE.byteSize() * Blades.COUNT, ValueLayout.JAVA_DOUBLE.byteAlignment());
+        final int[] gradeList = new int[Blades.DIMENSION + 1];
+    }
+
     private final Native nativeState;
+    // null when the native multivector is owned by an MvecScope, or is a constant
     private final Cleaner.Cleanable cleanable;
+    // for the shared constants: the blade they hold with coefficient constantValue, -1 otherwise
+    private final int constantBlade;
+    private final double constantValue;
+    private boolean frozen;
+
+    /**
+     * The scalar 1, immutable and shared.
+     */
+    public static final Mvec ONE = constant(Mvec_h.Mvec_new_scalar(1.0), Basis.SCALAR);
+
+    /**
+     * The unit pseudoscalar, as returned by {@link #I()}, immutable and shared.
+     */
+    public static final Mvec PSEUDOSCALAR = constant(Mvec_h.Mvec_I(), Blades.COUNT - 1);
+
+    // unit blades, built on the first call to blade(int)
+    private static final class Constants {
+        static final Mvec[] BLADES = new Mvec[Blades.COUNT];
+
+        static {
+            BLADES[Basis.SCALAR] = ONE;
+            for (int k = 1; k < Blades.COUNT; k++) {
+                MemorySegment s = Mvec_h.Mvec_new_empty();
+                NativeCalls.setCoeff(s, k, 1.0);
+                BLADES[k] = constant(s, k);
+            }
+        }
+    }
+
+    /**
+     * Returns the unit basis blade {@code basisIndex}, immutable and shared.
+     * Unlike the {@code eXX()} factories, no native multivector is allocated.
+     * @param basisIndex The basis blade index, like {@link Basis}.
+     * @return The constant multivector holding only {@code 1.0 * e_basisIndex}.
+     */
+    public static Mvec blade(int basisIndex) {
+        return Constants.BLADES[Objects.checkIndex(basisIndex, Blades.COUNT)];
+    }
 
-    private MemorySegment seg() {
+    /**
+     * Returns the native multivector for the duration of a call, which must
+     * end with {@link #release()}: the Cleaner cannot free it meanwhile, and in
+     * debug mode neither can close().
+     */
+    private MemorySegment acquire() {
+        if (MvecScope.DEBUG) nativeState.enter();
         return nativeState.seg;
     }
 
+    /** Acquires this operand while {@code held} is already acquired, releasing it on failure. */
+    private MemorySegment acquireWith(Mvec held) {
+        try {
+            return acquire();
+        } catch (RuntimeException e) {
+            held.release();
+            throw e;
+        }
+    }
+
+    private void release() {
+        if (MvecScope.DEBUG) nativeState.exit();
+        Reference.reachabilityFence(this);
+    }
+
+    private void release(Mvec b) {
+        b.release();
+        release();
+    }
+
     private Mvec(MemorySegment seg) {
+        MvecMetrics.allocated();
+        this.nativeState = new Native(seg);
+        this.constantBlade = -1;
+        this.constantValue = 0.0;
+        MvecScope scope = MvecScope.current();
+        if (scope != null) {
+            // only released by the scope or close(), on the owner thread
+            nativeState.recycle = true;
+            scope.register(nativeState);
+            this.cleanable = null;
+        } else {
+            nativeState.site = MvecLeakDetector.site();
+            this.cleanable = CLEANER.register(this, nativeState);
+        }
+    }
+
+    // constants are never freed: neither registered with a scope nor with the Cleaner
+    private Mvec(MemorySegment seg, int blade) {
         this.nativeState = new Native(seg);
-        this.cleanable = CLEANER.register(this, nativeState);
+        this.cleanable = null;
+        this.constantBlade = blade;
+        this.constantValue = NativeCalls.getCoeff(seg, blade);
+    }
+
+    private static Mvec constant(MemorySegment seg, int blade) {
+        return new Mvec(seg, blade);
+    }
+
+    /**
+     * Tells whether this multivector is one of the shared constants
+     * ({@link #ONE}, {@link #PSEUDOSCALAR}, {@link #blade(int)}) or has been
+     * frozen, in which case it cannot be modified nor closed.
+     * @return True if the multivector is immutable.
+     */
+    public boolean isImmutable() {
+        return constantBlade >= 0 || frozen;
+    }
+
+    /**
+     * Makes this multivector read-only, so that several threads may use it at
+     * once, e.g. as a shared operand in a parallel stream. Modifying it then
+     * throws an {@link UnsupportedOperationException} and {@link #close()} does
+     * nothing: the native multivector is freed by the Cleaner once the frozen
+     * Mvec is no longer referenced.
+     * @return This multivector.
+     * @throws IllegalStateException if the multivector is owned by an {@link MvecScope},
+     * which would free it on close.
+     */
+    public Mvec freeze() {
+        if (constantBlade < 0 && cleanable == null) {
+            throw new IllegalStateException("An Mvec owned by an MvecScope cannot be frozen");
+        }
+        frozen = true;
+        // freed by the Cleaner by design, not a leak
+        nativeState.site = null;
+        return this;
+    }
+
+    private void checkMutable() {
+        if (isImmutable()) {
+            throw new UnsupportedOperationException("Mvec is immutable: a shared constant or frozen");
+        }
+    }
+
+    /**
+     * Product of two constants ({@link #blade(int)}, {@link #PSEUDOSCALAR}),
+     * read from the product table instead of computed: a single native call
+     * creates the result when it is zero or one scaled blade.
+     * @return The product, or null when an operand is not a constant or the
+     * product has several terms.
+     */
+    private Mvec constantProduct(ProductTable table, Mvec b) {
+        if (constantBlade < 0 || b.constantBlade < 0) return null;
+        ProductTable.Row row = table.row(constantBlade);
+        int from = row.start[b.constantBlade], to = row.start[b.constantBlade + 1];
+        if (from == to) return new Mvec();
+        if (to - from > 1) return null;
+        return blade(row.blade[from]).mul(row.coef[from] * constantValue * b.constantValue);
+    }
+
+    /** @return A new multivector equal to this one. */
+    private Mvec copy() {
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire();
+        try {
+            return new Mvec(Mvec_h.Mvec_mul_scalar(sa, 1.0));
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Replaces the native multivector owned by this Mvec with {@code result}
+     * (the output of a native operator) and frees the previous one.
+     * The Java object and its Cleaner registration are kept.
+     */
+    private Mvec assign(MemorySegment result) {
+        if (isImmutable()) {
+            Mvec_h.Mvec_delete(result);
+            checkMutable();
+        }
+        MemorySegment old = nativeState.seg;
+        nativeState.seg = result;
+        recycle(old);
+        MvecMetrics.replaced();
+        return this;
     }
 
     /**
      * Default constructor, generates an empty multivector equivalent to the scalar 0.
      */
     public Mvec() {
-        this(Mvec_h.Mvec_new_empty());
+        this(newEmpty());
     }
 
     /**
@@ -54,7 +320,7 @@ public final class Mvec implements AutoCloseable {
      * @param v The scalar value.
      */
     public Mvec(double v) {
-        this(Mvec_h.Mvec_new_scalar(v));
+        this(newScalar(v));
     }
 
     /**
@@ -63,8 +329,8 @@ public final class Mvec implements AutoCloseable {
      * @param value The coefficient of the multivector corresponding to the "basisIndex" component.
      */
     public Mvec(int basisIndex, double value) {
-        this(Mvec_h.Mvec_new_empty());
-        Mvec_h.Mvec_set_coeff(seg(), basisIndex, value);
+        this(newEmpty());
+        NativeCalls.setCoeff(nativeState.seg, basisIndex, value);
     }
     
 
@@ -76,6 +342,7 @@ project_static_multivector_one_component
      * or the multivector that contains only this element if present in the current multivector.
      */
     public static Mvec I() {
+        MvecLeakDetector.reserve();
         return new Mvec(Mvec_h.Mvec_I());
     }
 
@@ -87,7 +354,15 @@ project_static_multivector_one_component
      * @return The result of {@code this + b}.
      */
     public Mvec add(Mvec b) {
-        return new Mvec(Mvec_h.Mvec_add(seg(), b.seg()));
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return new Mvec(Mvec_h.Mvec_add(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.ADD, t);
+        }
     }
 
     /**
@@ -96,7 +371,15 @@ project_static_multivector_one_component
      * @return The result of {@code this + s}.
      */
     public Mvec add(double s) {
-        return new Mvec(Mvec_h.Mvec_add_scalar(seg(), s));
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire();
+        try {
+            return new Mvec(Mvec_h.Mvec_add_scalar(sa, s));
+        } finally {
+            release();
+            MvecMetrics.operation(MvecMetrics.Operation.ADD_SCALAR, t);
+        }
     }
 
     // public Mvec radd(double s) {
@@ -109,7 +392,19 @@ project_static_multivector_one_component
      * @return The result of {@code this * b}.
      */
     public Mvec mul(Mvec b) {
-        return new Mvec(Mvec_h.Mvec_mul(seg(), b.seg()));
+        if (b == ONE) return copy();
+        if (this == ONE) return b.copy();
+        Mvec c = constantProduct(ProductTable.MUL, b);
+        if (c != null) return c;
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return new Mvec(Mvec_h.Mvec_mul(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.MUL, t);
+        }
     }
 
     /**
@@ -118,7 +413,15 @@ project_static_multivector_one_component
      * @return The result of {@code this * s}.
      */
     public Mvec mul(double s) {
-        return new Mvec(Mvec_h.Mvec_mul_scalar(seg(), s));
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire();
+        try {
+            return new Mvec(Mvec_h.Mvec_mul_scalar(sa, s));
+        } finally {
+            release();
+            MvecMetrics.operation(MvecMetrics.Operation.MUL_SCALAR, t);
+        }
     }
 
     /**
@@ -127,7 +430,15 @@ project_static_multivector_one_component
      * @return The result of {@code s * this}.
      */
     public Mvec rmul(double s) {
-        return new Mvec(Mvec_h.Mvec_scalar_mul(s, seg()));
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire();
+        try {
+            return new Mvec(Mvec_h.Mvec_scalar_mul(s, sa));
+        } finally {
+            release();
+            MvecMetrics.operation(MvecMetrics.Operation.MUL_SCALAR, t);
+        }
     }
 
     /**
@@ -136,7 +447,19 @@ project_static_multivector_one_component
      * @return The result of {@code this ^ b}.
      */
     public Mvec outer(Mvec b) {
-        return new Mvec(Mvec_h.Mvec_outer(seg(), b.seg()));
+        if (b == ONE) return copy();
+        if (this == ONE) return b.copy();
+        Mvec c = constantProduct(ProductTable.OUTER, b);
+        if (c != null) return c;
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return new Mvec(Mvec_h.Mvec_outer(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.OUTER, t);
+        }
     }
 
     /**
@@ -145,7 +468,17 @@ project_static_multivector_one_component
      * @return The result of {@code this . b}.
      */
     public Mvec inner(Mvec b) {
-        return new Mvec(Mvec_h.Mvec_inner(seg(), b.seg()));
+        Mvec c = constantProduct(ProductTable.INNER, b);
+        if (c != null) return c;
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return new Mvec(Mvec_h.Mvec_inner(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.INNER, t);
+        }
     }
 
     /**
@@ -154,7 +487,18 @@ project_static_multivector_one_component
      * @return The left contraction {@code this < b}.
      */
     public Mvec leftContraction(Mvec b) {
-        return new Mvec(Mvec_h.Mvec_left_contraction(seg(), b.seg()));
+        if (this == ONE) return b.copy();
+        Mvec c = constantProduct(ProductTable.LEFT_CONTRACTION, b);
+        if (c != null) return c;
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return new Mvec(Mvec_h.Mvec_left_contraction(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.LEFT_CONTRACTION, t);
+        }
     }
 
     /**
@@ -163,7 +507,202 @@ project_static_multivector_one_component
      * @return The right contraction {@code this > b}.
      */
     public Mvec rightContraction(Mvec b) {
-        return new Mvec(Mvec_h.Mvec_right_contraction(seg(), b.seg()));
+        if (b == ONE) return copy();
+        Mvec c = constantProduct(ProductTable.RIGHT_CONTRACTION, b);
+        if (c != null) return c;
+        long t = MvecMetrics.sample();
+        MvecLeakDetector.reserve();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return new Mvec(Mvec_h.Mvec_right_contraction(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.RIGHT_CONTRACTION, t);
+        }
+    }
+
+    // ops "in-place"
+    /**
+     * Adds {@code b} to this multivector, i.e. {@code this += b}.
+     * @param b The second operand of type Mvec.
+     * @return This multivector, holding the result.
+     */
+    public Mvec addInPlace(Mvec b) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return assign(Mvec_h.Mvec_add(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.ADD, t);
+        }
+    }
+
+    /**
+     * Adds the scalar {@code s} to this multivector, i.e. {@code this += s}.
+     * @param s The second operand (scalar).
+     * @return This multivector, holding the result.
+     */
+    public Mvec addInPlace(double s) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire();
+        try {
+            return assign(Mvec_h.Mvec_add_scalar(sa, s));
+        } finally {
+            release();
+            MvecMetrics.operation(MvecMetrics.Operation.ADD_SCALAR, t);
+        }
+    }
+
+    /**
+     * Right-multiplies this multivector by {@code b}, i.e. {@code this *= b}.
+     * @param b A multivector.
+     * @return This multivector, holding the result.
+     */
+    public Mvec mulInPlace(Mvec b) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return assign(Mvec_h.Mvec_mul(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.MUL, t);
+        }
+    }
+
+    /**
+     * Scales this multivector by the scalar {@code s}, i.e. {@code this *= s}.
+     * @param s A scalar.
+     * @return This multivector, holding the result.
+     */
+    public Mvec mulInPlace(double s) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire();
+        try {
+            return assign(Mvec_h.Mvec_mul_scalar(sa, s));
+        } finally {
+            release();
+            MvecMetrics.operation(MvecMetrics.Operation.MUL_SCALAR, t);
+        }
+    }
+
+    /**
+     * Addition written into an existing multivector.
+     * @param b The second operand of type Mvec.
+     * @param dst The multivector receiving {@code this + b}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public Mvec addInto(Mvec b, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return dst.assign(Mvec_h.Mvec_add(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.ADD, t);
+        }
+    }
+
+    /**
+     * Geometric product written into an existing multivector.
+     * @param b A multivector.
+     * @param dst The multivector receiving {@code this * b}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public Mvec mulInto(Mvec b, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return dst.assign(Mvec_h.Mvec_mul(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.MUL, t);
+        }
+    }
+
+    /**
+     * Product by a scalar written into an existing multivector.
+     * @param s A scalar.
+     * @param dst The multivector receiving {@code s * this}; may be {@code this}.
+     * @return {@code dst}.
+     */
+    public Mvec rmulInto(double s, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire();
+        try {
+            return dst.assign(Mvec_h.Mvec_scalar_mul(s, sa));
+        } finally {
+            release();
+            MvecMetrics.operation(MvecMetrics.Operation.MUL_SCALAR, t);
+        }
+    }
+
+    /**
+     * Outer product written into an existing multivector.
+     * @param b A multivector.
+     * @param dst The multivector receiving {@code this ^ b}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public Mvec outerInto(Mvec b, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return dst.assign(Mvec_h.Mvec_outer(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.OUTER, t);
+        }
+    }
+
+    /**
+     * Inner product written into an existing multivector.
+     * @param b A multivector.
+     * @param dst The multivector receiving {@code this . b}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public Mvec innerInto(Mvec b, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return dst.assign(Mvec_h.Mvec_inner(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.INNER, t);
+        }
+    }
+
+    /**
+     * Left contraction written into an existing multivector.
+     * @param b A multivector.
+     * @param dst The multivector receiving {@code this < b}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public Mvec leftContractionInto(Mvec b, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return dst.assign(Mvec_h.Mvec_left_contraction(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.LEFT_CONTRACTION, t);
+        }
+    }
+
+    /**
+     * Right contraction written into an existing multivector.
+     * @param b A multivector.
+     * @param dst The multivector receiving {@code this > b}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public Mvec rightContractionInto(Mvec b, Mvec dst) {
+        long t = MvecMetrics.sample();
+        MemorySegment sa = acquire(), sb = b.acquireWith(this);
+        try {
+            return dst.assign(Mvec_h.Mvec_right_contraction(sa, sb));
+        } finally {
+            release(b);
+            MvecMetrics.operation(MvecMetrics.Operation.RIGHT_CONTRACTION, t);
+        }
     }
 
     /**
@@ -171,30 +710,40 @@ project_static_multivector_one_component
      * @return The L2-norm of the multivector (as a double).
      */
     public double norm() {
-        return Mvec_h.Mvec_norm(seg());
+        MemorySegment sa = acquire();
+        try {
+            return NativeCalls.norm(sa);
+        } finally {
+            release();
+        }
     }
 
+    /**
+     * Returns the grades present in the multivector, in increasing order.
+     * @return A new array holding the grades.
+     */
     public int[] grades() {
-        // to get grades vector, we need to temporary allocate a C array, and
-        // copy it to a java array
-        int count = (int) Mvec_h.Mvec_get_grades_count(seg());
-        if (count == 0) return new int[0];
-
-        try (Arena arena = Arena.ofConfined()) {
-            long elemSize = ValueLayout.JAVA_INT.byteSize();
-            long bytes    = elemSize * (long) count;
-
-            MemorySegment out = arena.allocate(bytes, ValueLayout.JAVA_INT.byteAlignment());
-
-            int written = Mvec_h.Mvec_copy_grades(seg(), out, count);
-            int n = Math.min(written, count);
+        int[] res = new int[Blades.DIMENSION + 1];
+        int n = gradesInto(res);
+        return n == res.length ? res : Arrays.copyOf(res, n);
+    }
 
-            // copy to int[]
-            int[] res = new int[n];
-            for (int i = 0; i < n; i++) {
-                res[i] = out.getAtIndex(ValueLayout.JAVA_INT, i);
-            }
-            return res;
+    /**
+     * Copies the grades present in the multivector into {@code dst}, without allocating.
+     * @param dst The destination, of length {@code dimension + 1} to hold any multivector.
+     * @return The number of grades written.
+     */
+    public int gradesInto(int[] dst) {
+        // the native side writes into a per-thread buffer, copied in bulk
+        MemorySegment out = SCRATCH.get().grades;
+        MemorySegment sa = acquire();
+        try {
+            int written = NativeCalls.copyGrades(sa, out, Blades.DIMENSION + 1);
+            int n = Math.min(written, dst.length);
+            MemorySegment.copy(out, ValueLayout.JAVA_INT, 0, dst, 0, n);
+            return n;
+        } finally {
+            release();
         }
     }
 
@@ -203,7 +752,12 @@ project_static_multivector_one_component
      * @return The highest grade of the multivector.
      */
     public int highestGrade() {
-        return Mvec_h.Mvec_get_highest_grade(seg());
+        MemorySegment sa = acquire();
+        try {
+            return NativeCalls.highestGrade(sa);
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -212,7 +766,12 @@ project_static_multivector_one_component
      * @return The scalar part of the multivector.
      */
     public double toScalar() {
-        return Mvec_h.Mvec_to_scalar(seg());
+        MemorySegment sa = acquire();
+        try {
+            return NativeCalls.toScalar(sa);
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -222,7 +781,13 @@ project_static_multivector_one_component
      * @param v The coefficient of the multivector corresponding to the "i" component.
      */
     public void set(int i, double v) {
-        Mvec_h.Mvec_set_coeff(seg(), i, v);
+        checkMutable();
+        MemorySegment sa = acquire();
+        try {
+            NativeCalls.setCoeff(sa, i, v);
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -232,14 +797,152 @@ project_static_multivector_one_component
      * @return The coefficient of the multivector corresponding to the "i" component.
      */
     public double get(int i) {
-        return Mvec_h.Mvec_get_coeff(seg(), i);
+        MemorySegment sa = acquire();
+        try {
+            return NativeCalls.getCoeff(sa, i);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Copies all the coefficients of the multivector, indexed like {@link Basis}.
+     * Only the blades of the grades present are read from the native side.
+     * @param dst The destination array.
+     * @param offset The index in {@code dst} of the scalar coefficient.
+     */
+    public void copyCoefficientsTo(double[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, Blades.COUNT, dst.length);
+        Arrays.fill(dst, offset, offset + Blades.COUNT, 0.0);
+        int[] grades = SCRATCH.get().gradeList;
+        int n = gradesInto(grades);
+        MemorySegment sa = acquire();
+        try {
+            for (int g = 0; g < n; g++) {
+                for (int k : Blades.ofGrade(grades[g])) {
+                    dst[offset + k] = NativeCalls.getCoeff(sa, k);
+                }
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Replaces all the coefficients of the multivector.
+     * @param src The coefficients, indexed like {@link Basis}.
+     */
+    public void setCoefficients(double[] src) {
+        setCoefficients(src, 0);
+    }
+
+    /**
+     * Replaces all the coefficients of the multivector.
+     * @param src The source array.
+     * @param offset The index in {@code src} of the scalar coefficient.
+     */
+    public void setCoefficients(double[] src, int offset) {
+        checkMutable();
+        Objects.checkFromIndexSize(offset, Blades.COUNT, src.length);
+        MemorySegment sa = acquire();
+        try {
+            Mvec_h.Mvec_clear(sa, -1);
+            for (int k = 0; k < Blades.COUNT; k++) {
+                double v = src[offset + k];
+                if (v != 0.0) NativeCalls.setCoeff(sa, k, v);
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Copies the non-zero coefficients of the multivector, grade by grade and in
+     * increasing blade order within a grade. Only the grades present are read.
+     * @param blades The destination of the blade indices.
+     * @param values The destination of the coefficients.
+     * @return The number of coefficients written.
+     * @throws IndexOutOfBoundsException if the destinations are too small,
+     * a length of {@code 2^dimension} holds any multivector.
+     */
+    public int copyNonZeroTo(int[] blades, double[] values) {
+        int capacity = Math.min(blades.length, values.length);
+        int[] grades = SCRATCH.get().gradeList;
+        int n = gradesInto(grades);
+        MemorySegment sa = acquire();
+        try {
+            int size = 0;
+            for (int g = 0; g < n; g++) {
+                for (int k : Blades.ofGrade(grades[g])) {
+                    double v = NativeCalls.getCoeff(sa, k);
+                    if (v == 0.0) continue;
+                    Objects.checkIndex(size, capacity);
+                    blades[size] = k;
+                    values[size] = v;
+                    size++;
+                }
+            }
+            return size;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Replaces all the coefficients of the multivector by sparse ones.
+     * @param blades The blade indices, like {@link Basis}.
+     * @param values The coefficients of the blades.
+     * @param count The number of coefficients to read.
+     */
+    public void setCoefficients(int[] blades, double[] values, int count) {
+        checkMutable();
+        Objects.checkFromIndexSize(0, count, blades.length);
+        Objects.checkFromIndexSize(0, count, values.length);
+        MemorySegment sa = acquire();
+        try {
+            Mvec_h.Mvec_clear(sa, -1);
+            for (int t = 0; t < count; t++) {
+                if (values[t] != 0.0) NativeCalls.setCoeff(sa, blades[t], values[t]);
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Returns a read-only off-heap view of the coefficients, indexed like {@link Basis}.
+     * The view is a per-thread buffer: it is only valid until the next call
+     * to this method on the same thread, and must not be shared.
+     * @return The coefficients, as {@code Basis}-indexed doubles.
+     */
+    public MemorySegment coefficientView() {
+        Scratch scratch = SCRATCH.get();
+        MemorySegment view = scratch.coefficients;
+        view.fill((byte) 0);
+        int n = gradesInto(scratch.gradeList);
+        MemorySegment sa = acquire();
+        try {
+            for (int g = 0; g < n; g++) {
+                for (int k : Blades.ofGrade(scratch.gradeList[g])) {
+                    view.setAtIndex(ValueLayout.JAVA_DOUBLE, k, NativeCalls.getCoeff(sa, k));
+                }
+            }
+            return view.asReadOnly();
+        } finally {
+            release();
+        }
     }
 
     /**
      * Displays the multivector data (per grade value).
      */
     public void display() {
-        Mvec_h.Mvec_display(seg());
+        MemorySegment sa = acquire();
+        try {
+            Mvec_h.Mvec_display(sa);
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -247,14 +950,25 @@ project_static_multivector_one_component
      * @return True if the multivector is empty, else False.
      */
     public boolean isEmpty() {
-        return Mvec_h.Mvec_is_empty(seg());
+        MemorySegment sa = acquire();
+        try {
+            return NativeCalls.isEmpty(sa);
+        } finally {
+            release();
+        }
     }
 
     /**
      * Completely erases the content of a multivector.
      */
     public void clear() {
-        Mvec_h.Mvec_clear(seg(), -1);
+        checkMutable();
+        MemorySegment sa = acquire();
+        try {
+            Mvec_h.Mvec_clear(sa, -1);
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -263,7 +977,13 @@ project_static_multivector_one_component
      * only erases the part of grade "grade".
      */
     public void clear(int grade) {
-        Mvec_h.Mvec_clear(seg(), grade);
+        checkMutable();
+        MemorySegment sa = acquire();
+        try {
+            Mvec_h.Mvec_clear(sa, grade);
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -286,10 +1006,19 @@ project_static_multivector_one_component
 
     /**
      * Closes the native resources associated with this Mvec.
+     * When pooling is enabled, the native multivector is recycled by the
+     * {@link MvecPool} of the calling thread. Closing a shared constant or a
+     * frozen multivector does nothing.
      */
     @Override
     public void close() {
-        cleanable.clean();
+        if (isImmutable()) return;
+        if (cleanable != null) {
+            nativeState.recycle = true;
+            cleanable.clean();
+        } else {
+            nativeState.run();
+        }
     }
 
     /**
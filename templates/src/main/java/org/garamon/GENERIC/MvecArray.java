@@ -0,0 +1,482 @@
+package org.garamon.project_namespace;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A fixed-size array of multivectors stored in one segment, on the heap or
+ * off-heap, for data-parallel work over large collections such as point clouds.
+ *
+ * <p>Coefficients are kept element by element: the coefficient of blade
+ * {@code k} (see {@link Mvec.Basis}) of element {@code e} is the double at
+ * index {@code e * bladeCount() + k}, the layout of
+ * {@link Mvec#copyCoefficientsTo(double[], int)} and of {@link MvecStore}
+ * files. A contiguous range of elements is therefore a contiguous range of
+ * the segment.</p>
+ *
+ * <p>The bulk operators split the array into contiguous index ranges with its
+ * {@link #spliterator()} and run them on the common {@link ForkJoinPool}. Each
+ * worker reads its range and writes the matching range of a preallocated
+ * destination, without any native call nor allocation per element, so
+ * throughput scales with the number of cores. Products use the tables sampled
+ * from the native library, so they follow its metric exactly.</p>
+ */
+public final class MvecArray {
+    private static final ValueLayout.OfDouble D = ValueLayout.JAVA_DOUBLE;
+    private static final int COUNT = Blades.COUNT;
+    private static final long STRIDE = D.byteSize() * COUNT;
+    // ranges of at most this many elements are not split further
+    private static final int MIN_GRAIN = 512;
+
+    // per-thread buffer of get(int, Mvec)
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[COUNT]);
+
+    private final MemorySegment data;
+    private final int size;
+
+    private MvecArray(MemorySegment data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Allocates an array of multivectors, all equal to 0.
+     * @param size The number of multivectors.
+     */
+    public MvecArray(int size) {
+        this(MemorySegment.ofArray(new double[checkedLength(size)]), size);
+    }
+
+    /**
+     * Wraps existing coefficients, without copying them.
+     * @param coefficients The coefficients, element by element, of length a multiple of {@code bladeCount()}.
+     * @return An array of {@code coefficients.length / bladeCount()} multivectors backed by {@code coefficients}.
+     */
+    public static MvecArray wrap(double[] coefficients) {
+        if (coefficients.length % COUNT != 0) {
+            throw new IllegalArgumentException("Length " + coefficients.length + " is not a multiple of " + COUNT);
+        }
+        return new MvecArray(MemorySegment.ofArray(coefficients), coefficients.length / COUNT);
+    }
+
+    /**
+     * Wraps existing coefficients, without copying them, e.g. a view of a {@link MvecStore}.
+     * @param segment The coefficients, element by element, in native byte order and
+     * of size a multiple of {@code bladeCount()} doubles.
+     * @return An array of multivectors backed by {@code segment}.
+     */
+    public static MvecArray wrap(MemorySegment segment) {
+        long n = segment.byteSize() / STRIDE;
+        if (segment.byteSize() % STRIDE != 0 || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment of " + segment.byteSize() + " bytes does not hold an MvecArray");
+        }
+        return new MvecArray(segment, (int) n);
+    }
+
+    private static int checkedLength(int size) {
+        if (size < 0) throw new IllegalArgumentException("Negative array size: " + size);
+        return Math.multiplyExact(size, COUNT);
+    }
+
+    /**
+     * @return The number of multivectors in the array.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of coefficients of each multivector, i.e. the number of basis blades.
+     */
+    public static int bladeCount() {
+        return Blades.COUNT;
+    }
+
+    /**
+     * @return The backing segment, element by element.
+     */
+    public MemorySegment segment() {
+        return data;
+    }
+
+    private long index(int e, int blade) {
+        Objects.checkIndex(e, size);
+        Objects.checkIndex(blade, COUNT);
+        return (long) e * COUNT + blade;
+    }
+
+    /**
+     * @param e The index of the multivector in the array.
+     * @param blade The basis blade index, see {@link Mvec.Basis}.
+     * @return The coefficient of the blade in the multivector {@code e}.
+     */
+    public double get(int e, int blade) {
+        return data.getAtIndex(D, index(e, blade));
+    }
+
+    /**
+     * @param e The index of the multivector in the array.
+     * @param blade The basis blade index, see {@link Mvec.Basis}.
+     * @param v The new coefficient of the blade in the multivector {@code e}.
+     */
+    public void set(int e, int blade, double v) {
+        data.setAtIndex(D, index(e, blade), v);
+    }
+
+    /**
+     * Copies a multivector into the array.
+     * @param e The index of the multivector in the array.
+     * @param src The multivector to copy.
+     */
+    public void set(int e, Mvec src) {
+        MemorySegment.copy(src.coefficientView(), 0, data, index(e, 0) * D.byteSize(), STRIDE);
+    }
+
+    /**
+     * Copies a multivector of the array into {@code dst}.
+     * @param e The index of the multivector in the array.
+     * @param dst The multivector receiving the coefficients.
+     * @return {@code dst}.
+     */
+    public Mvec get(int e, Mvec dst) {
+        double[] c = SCRATCH.get();
+        MemorySegment.copy(data, D, index(e, 0) * D.byteSize(), c, 0, COUNT);
+        dst.setCoefficients(c, 0);
+        return dst;
+    }
+
+    /**
+     * @param e The index of the multivector in the array.
+     * @return A new multivector equal to the element {@code e}.
+     */
+    public Mvec get(int e) {
+        return get(e, new Mvec());
+    }
+
+    /**
+     * Returns a spliterator over the elements, splitting on contiguous index
+     * ranges. Every element is copied into a new {@link Mvec}, which the
+     * consumer may close once done with it.
+     * @return A sized spliterator over the elements, in index order.
+     */
+    public Spliterator<Mvec> spliterator() {
+        return new Elements(0, size);
+    }
+
+    /**
+     * @return A sequential stream of copies of the elements, see {@link #spliterator()}.
+     */
+    public Stream<Mvec> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return A parallel stream of copies of the elements, see {@link #spliterator()}.
+     */
+    public Stream<Mvec> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Geometric product of every element by the same multivector, in parallel.
+     * @param b The right operand.
+     * @param dst The array receiving {@code this[e] * b}; may be {@code this}.
+     * @return {@code dst}.
+     */
+    public MvecArray mapMul(Mvec b, MvecArray dst) {
+        return map(LinearMap.of(null, b), dst);
+    }
+
+    /**
+     * Geometric product of every element on both sides, in parallel, e.g. the
+     * rotation {@code R * x * reverse(R)} of a point cloud.
+     * @param a The left operand.
+     * @param b The right operand.
+     * @param dst The array receiving {@code a * this[e] * b}; may be {@code this}.
+     * @return {@code dst}.
+     */
+    public MvecArray mapMul(Mvec a, Mvec b, MvecArray dst) {
+        return map(LinearMap.of(a, b), dst);
+    }
+
+    /**
+     * Sums all the elements, in parallel.
+     * @return A new multivector holding the sum, 0 for an empty array.
+     */
+    public Mvec reduceAdd() {
+        double[] sum = invoke((from, to) -> {
+            double[] acc = new double[COUNT];
+            for (int e = from; e < to; e++) {
+                long base = (long) e * COUNT;
+                for (int k = 0; k < COUNT; k++) acc[k] += data.getAtIndex(D, base + k);
+            }
+            return acc;
+        }, (l, r) -> {
+            for (int k = 0; k < COUNT; k++) l[k] += r[k];
+            return l;
+        });
+        Mvec res = new Mvec();
+        res.setCoefficients(sum, 0);
+        return res;
+    }
+
+    /**
+     * Sums the norms of all the elements, {@code sqrt(abs(<reverse(mv) * mv>_0))}, in parallel.
+     * @return The sum of the norms, 0 for an empty array.
+     */
+    public double sumNorms() {
+        QuadraticForm q = QuadraticForm.INSTANCE;
+        return invoke((from, to) -> {
+            double sum = 0.0;
+            for (int e = from; e < to; e++) {
+                sum += Math.sqrt(Math.abs(q.apply(data, (long) e * COUNT)));
+            }
+            return sum;
+        }, Double::sum);
+    }
+
+    /** Applies a precompiled product to every element, in parallel. */
+    MvecArray map(LinearMap m, MvecArray dst) {
+        checkSize(dst);
+        MemorySegment out = dst.data;
+        invoke((from, to) -> {
+            // the element is copied first, so that dst may be this
+            double[] x = new double[COUNT];
+            for (int e = from; e < to; e++) {
+                long base = (long) e * COUNT;
+                MemorySegment.copy(data, D, base * D.byteSize(), x, 0, COUNT);
+                m.apply(x, out, base);
+            }
+            return null;
+        }, (l, r) -> null);
+        return dst;
+    }
+
+    private <R> R invoke(RangeKernel<R> kernel, BinaryOperator<R> combiner) {
+        int grain = Math.max(MIN_GRAIN, size / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(new Elements(0, size), grain, kernel, combiner));
+    }
+
+    private static double[] coefficients(Mvec m) {
+        double[] c = new double[COUNT];
+        m.copyCoefficientsTo(c, 0);
+        return c;
+    }
+
+    private void checkSize(MvecArray other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Array size mismatch: " + other.size + " != " + size);
+        }
+    }
+
+    /** Work on the elements {@code [from, to)}, returning a partial result. */
+    @FunctionalInterface
+    private interface RangeKernel<R> {
+        R apply(int from, int to);
+    }
+
+    /** Splits its range in halves down to {@code grain} elements, combining the partial results in index order. */
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+        private final Elements range;
+        private final int grain;
+        private final RangeKernel<R> kernel;
+        private final BinaryOperator<R> combiner;
+
+        RangeTask(Elements range, int grain, RangeKernel<R> kernel, BinaryOperator<R> combiner) {
+            this.range = range;
+            this.grain = grain;
+            this.kernel = kernel;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            Elements prefix;
+            if (range.estimateSize() > grain && (prefix = range.trySplit()) != null) {
+                RangeTask<R> left = new RangeTask<>(prefix, grain, kernel, combiner);
+                left.fork();
+                R right = compute();
+                return combiner.apply(left.join(), right);
+            }
+            return kernel.apply(range.origin, range.fence);
+        }
+    }
+
+    /** The elements {@code [origin, fence)}, split in halves. */
+    private final class Elements implements Spliterator<Mvec> {
+        private int origin;
+        private final int fence;
+
+        Elements(int origin, int fence) {
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Mvec> action) {
+            if (origin >= fence) return false;
+            action.accept(get(origin++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Mvec> action) {
+            while (origin < fence) {
+                action.accept(get(origin++));
+            }
+        }
+
+        @Override
+        public Elements trySplit() {
+            int mid = (origin + fence) >>> 1;
+            if (mid <= origin) return null;
+            Elements prefix = new Elements(origin, mid);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /**
+     * The linear map {@code x -> a * x * b} as sparse rows:
+     * {@code out[k] = sum of w[t] * x[col[t]]} for {@code t} in {@code [start[k], start[k + 1])}.
+     */
+    static final class LinearMap {
+        final int[] start;
+        final int[] col;
+        final double[] w;
+
+        private LinearMap(int[] start, int[] col, double[] w) {
+            this.start = start;
+            this.col = col;
+            this.w = w;
+        }
+
+        /**
+         * @param a The left operand, {@code null} for none, read once.
+         * @param b The right operand, read once.
+         */
+        static LinearMap of(Mvec a, Mvec b) {
+            return of(a == null ? null : coefficients(a), coefficients(b));
+        }
+
+        private static LinearMap of(double[] a, double[] b) {
+            // column i is the image of the blade i, collected as (row, column, weight)
+            int[] rows = new int[COUNT];
+            int[] cols = new int[COUNT];
+            double[] ws = new double[COUNT];
+            int n = 0;
+            double[] unit = new double[COUNT];
+            double[] left = new double[COUNT];
+            double[] image = new double[COUNT];
+            for (int i = 0; i < COUNT; i++) {
+                unit[i] = 1.0;
+                double[] x = unit;
+                if (a != null) {
+                    Arrays.fill(left, 0.0);
+                    ProductTable.MUL.accumulate(a, unit, left);
+                    x = left;
+                }
+                Arrays.fill(image, 0.0);
+                ProductTable.MUL.accumulate(x, b, image);
+                unit[i] = 0.0;
+                for (int k = 0; k < COUNT; k++) {
+                    if (image[k] == 0.0) continue;
+                    if (n == rows.length) {
+                        rows = Arrays.copyOf(rows, 2 * n);
+                        cols = Arrays.copyOf(cols, 2 * n);
+                        ws = Arrays.copyOf(ws, 2 * n);
+                    }
+                    rows[n] = k;
+                    cols[n] = i;
+                    ws[n++] = image[k];
+                }
+            }
+
+            // counting sort by row
+            int[] start = new int[COUNT + 1];
+            for (int t = 0; t < n; t++) start[rows[t] + 1]++;
+            for (int k = 0; k < COUNT; k++) start[k + 1] += start[k];
+            int[] next = Arrays.copyOf(start, COUNT);
+            int[] col = new int[n];
+            double[] w = new double[n];
+            for (int t = 0; t < n; t++) {
+                int p = next[rows[t]]++;
+                col[p] = cols[t];
+                w[p] = ws[t];
+            }
+            return new LinearMap(start, col, w);
+        }
+
+        void apply(double[] x, MemorySegment out, long base) {
+            for (int k = 0; k < COUNT; k++) {
+                double s = 0.0;
+                for (int t = start[k]; t < start[k + 1]; t++) {
+                    s += w[t] * x[col[t]];
+                }
+                out.setAtIndex(D, base + k, s);
+            }
+        }
+    }
+
+    /** The scalar part of {@code reverse(x) * x}, as the sparse bilinear form {@code sum of w[t] * x[i[t]] * x[j[t]]}. */
+    private static final class QuadraticForm {
+        static final QuadraticForm INSTANCE = new QuadraticForm();
+
+        final int[] i;
+        final int[] j;
+        final double[] w;
+
+        private QuadraticForm() {
+            int[] is = new int[COUNT];
+            int[] js = new int[COUNT];
+            double[] ws = new double[COUNT];
+            int n = 0;
+            for (int a = 0; a < COUNT; a++) {
+                ProductTable.Row row = ProductTable.MUL.row(a);
+                for (int b = 0; b < COUNT; b++) {
+                    for (int t = row.start[b]; t < row.start[b + 1]; t++) {
+                        if (row.blade[t] != Mvec.Basis.SCALAR) continue;
+                        if (n == is.length) {
+                            is = Arrays.copyOf(is, 2 * n);
+                            js = Arrays.copyOf(js, 2 * n);
+                            ws = Arrays.copyOf(ws, 2 * n);
+                        }
+                        is[n] = a;
+                        js[n] = b;
+                        ws[n++] = Blades.reverseSign(a) * row.coef[t];
+                    }
+                }
+            }
+            this.i = Arrays.copyOf(is, n);
+            this.j = Arrays.copyOf(js, n);
+            this.w = Arrays.copyOf(ws, n);
+        }
+
+        double apply(MemorySegment x, long base) {
+            double q = 0.0;
+            for (int t = 0; t < w.length; t++) {
+                q += w[t] * x.getAtIndex(D, base + i[t]) * x.getAtIndex(D, base + j[t]);
+            }
+            return q;
+        }
+    }
+}
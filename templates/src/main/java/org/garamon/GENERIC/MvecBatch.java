@@ -0,0 +1,373 @@
+package org.garamon.project_namespace;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A fixed-size batch of multivectors stored in one off-heap segment.
+ *
+ * <p>Coefficients are kept in struct-of-arrays layout: all the coefficients of
+ * a given basis blade (see {@link Mvec.Basis}) are contiguous, the coefficient
+ * of blade {@code k} of element {@code e} being at index {@code k * size() + e}.
+ * Bulk operators therefore run as long element-wise loops over blade columns
+ * instead of one native call per multivector.</p>
+ *
+ * <p>Bulk import and export use the interleaved layout of a single multivector
+ * repeated {@code size()} times, i.e. element {@code e} blade {@code k} at
+ * {@code e * Blades.COUNT + k}.</p>
+ */
+public final class MvecBatch implements AutoCloseable {
+    private static final ValueLayout.OfDouble D = ValueLayout.JAVA_DOUBLE;
+
+    private final Arena arena;
+    private final MemorySegment data;
+    private final int size;
+
+    private MvecBatch(Arena arena, int size) {
+        this.arena = arena;
+        this.size = size;
+        this.data = arena.allocate(D.byteSize() * Blades.COUNT * size, D.byteAlignment());
+    }
+
+    /**
+     * Allocates a batch of multivectors, all equal to 0.
+     * @param size The number of multivectors in the batch.
+     * @return The new batch, to be closed to release its memory.
+     */
+    public static MvecBatch allocate(int size) {
+        if (size < 0) throw new IllegalArgumentException("Negative batch size: " + size);
+        return new MvecBatch(Arena.ofShared(), size);
+    }
+
+    /**
+     * @return The number of multivectors in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of coefficients of each multivector, i.e. the number of basis blades.
+     */
+    public static int bladeCount() {
+        return Blades.COUNT;
+    }
+
+    /**
+     * @return The backing segment, in struct-of-arrays layout.
+     */
+    public MemorySegment segment() {
+        return data;
+    }
+
+    private long index(int e, int blade) {
+        Objects.checkIndex(e, size);
+        Objects.checkIndex(blade, Blades.COUNT);
+        return (long) blade * size + e;
+    }
+
+    /**
+     * @param e The index of the multivector in the batch.
+     * @param blade The basis blade index, see {@link Mvec.Basis}.
+     * @return The coefficient of the blade in the multivector {@code e}.
+     */
+    public double get(int e, int blade) {
+        return data.getAtIndex(D, index(e, blade));
+    }
+
+    /**
+     * @param e The index of the multivector in the batch.
+     * @param blade The basis blade index, see {@link Mvec.Basis}.
+     * @param v The new coefficient of the blade in the multivector {@code e}.
+     */
+    public void set(int e, int blade, double v) {
+        data.setAtIndex(D, index(e, blade), v);
+    }
+
+    /**
+     * Copies a multivector into the batch.
+     * @param e The index of the multivector in the batch.
+     * @param src The multivector to copy.
+     */
+    public void set(int e, Mvec src) {
+        MemorySegment c = src.coefficientView();
+        for (int k = 0; k < Blades.COUNT; k++) {
+            set(e, k, c.getAtIndex(D, k));
+        }
+    }
+
+    /**
+     * Copies a multivector of the batch into {@code dst}.
+     * @param e The index of the multivector in the batch.
+     * @param dst The multivector receiving the coefficients.
+     * @return {@code dst}.
+     */
+    public Mvec get(int e, Mvec dst) {
+        dst.clear();
+        for (int k = 0; k < Blades.COUNT; k++) {
+            double v = get(e, k);
+            if (v != 0.0) dst.set(k, v);
+        }
+        return dst;
+    }
+
+    /**
+     * Imports the whole batch from interleaved coefficients.
+     * @param src The source array, holding {@code size() * bladeCount()} coefficients.
+     * @param offset The index of the first coefficient in {@code src}.
+     */
+    public void copyFrom(double[] src, int offset) {
+        Objects.checkFromIndexSize(offset, size * Blades.COUNT, src.length);
+        for (int e = 0; e < size; e++) {
+            for (int k = 0; k < Blades.COUNT; k++) {
+                data.setAtIndex(D, (long) k * size + e, src[offset++]);
+            }
+        }
+    }
+
+    /**
+     * Exports the whole batch as interleaved coefficients.
+     * @param dst The destination array, with room for {@code size() * bladeCount()} coefficients.
+     * @param offset The index of the first coefficient in {@code dst}.
+     */
+    public void copyTo(double[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, size * Blades.COUNT, dst.length);
+        for (int e = 0; e < size; e++) {
+            for (int k = 0; k < Blades.COUNT; k++) {
+                dst[offset++] = data.getAtIndex(D, (long) k * size + e);
+            }
+        }
+    }
+
+    /**
+     * Imports the whole batch from interleaved coefficients, advancing the buffer position.
+     * @param src The buffer, with {@code size() * bladeCount()} coefficients remaining.
+     */
+    public void copyFrom(DoubleBuffer src) {
+        int base = src.position();
+        Objects.checkFromIndexSize(base, size * Blades.COUNT, src.limit());
+        for (int e = 0; e < size; e++) {
+            for (int k = 0; k < Blades.COUNT; k++) {
+                data.setAtIndex(D, (long) k * size + e, src.get(base++));
+            }
+        }
+        src.position(base);
+    }
+
+    /**
+     * Exports the whole batch as interleaved coefficients, advancing the buffer position.
+     * @param dst The buffer, with room for {@code size() * bladeCount()} coefficients.
+     */
+    public void copyTo(DoubleBuffer dst) {
+        int base = dst.position();
+        Objects.checkFromIndexSize(base, size * Blades.COUNT, dst.limit());
+        for (int e = 0; e < size; e++) {
+            for (int k = 0; k < Blades.COUNT; k++) {
+                dst.put(base++, data.getAtIndex(D, (long) k * size + e));
+            }
+        }
+        dst.position(base);
+    }
+
+    /**
+     * Element-wise addition.
+     * @param b The second operand, of the same size.
+     * @param dst The batch receiving {@code this[e] + b[e]}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public MvecBatch add(MvecBatch b, MvecBatch dst) {
+        checkSize(b);
+        checkSize(dst);
+        BatchKernels.add(dst.data, data, b.data, (long) Blades.COUNT * size);
+        return dst;
+    }
+
+    /**
+     * Element-wise geometric product.
+     * @param b The second operand, of the same size.
+     * @param dst The batch receiving {@code this[e] * b[e]}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public MvecBatch mul(MvecBatch b, MvecBatch dst) {
+        return product(ProductTable.MUL, b, dst);
+    }
+
+    /**
+     * Geometric product of every element by the same multivector.
+     * @param b The right operand.
+     * @param dst The batch receiving {@code this[e] * b}; may be {@code this}.
+     * @return {@code dst}.
+     */
+    public MvecBatch mul(Mvec b, MvecBatch dst) {
+        return product(ProductTable.MUL, b, dst);
+    }
+
+    /**
+     * Geometric product of the same multivector by every element.
+     * @param a The left operand.
+     * @param dst The batch receiving {@code a * this[e]}; may be {@code this}.
+     * @return {@code dst}.
+     */
+    public MvecBatch rmul(Mvec a, MvecBatch dst) {
+        checkSize(dst);
+        double[] ac = coefficients(a);
+        boolean[] used = usedBlades();
+        ProductTable table = ProductTable.MUL;
+        return into(dst, false, out -> {
+            for (int i = 0; i < Blades.COUNT; i++) {
+                if (ac[i] == 0.0) continue;
+                ProductTable.Row row = table.row(i);
+                for (int j = 0; j < Blades.COUNT; j++) {
+                    if (!used[j]) continue;
+                    for (int t = row.start[j]; t < row.start[j + 1]; t++) {
+                        BatchKernels.axpy(out, (long) row.blade[t] * size, row.coef[t] * ac[i],
+                                data, (long) j * size, size);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Element-wise outer product.
+     * @param b The second operand, of the same size.
+     * @param dst The batch receiving {@code this[e] ^ b[e]}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public MvecBatch outer(MvecBatch b, MvecBatch dst) {
+        return product(ProductTable.OUTER, b, dst);
+    }
+
+    /**
+     * Element-wise inner product.
+     * @param b The second operand, of the same size.
+     * @param dst The batch receiving {@code this[e] . b[e]}; may be {@code this} or {@code b}.
+     * @return {@code dst}.
+     */
+    public MvecBatch inner(MvecBatch b, MvecBatch dst) {
+        return product(ProductTable.INNER, b, dst);
+    }
+
+    /**
+     * Element-wise norm, {@code sqrt(abs(<reverse(mv) * mv>_0))}.
+     * @param dst The array receiving the norms, of length at least {@code size()}.
+     * @return {@code dst}.
+     */
+    public double[] norm(double[] dst) {
+        Objects.checkFromIndexSize(0, size, dst.length);
+        boolean[] used = usedBlades();
+        try (Arena tmp = Arena.ofConfined()) {
+            MemorySegment q = tmp.allocate(D.byteSize() * size, D.byteAlignment());
+            for (int i = 0; i < Blades.COUNT; i++) {
+                if (!used[i]) continue;
+                ProductTable.Row row = ProductTable.MUL.row(i);
+                double sign = Blades.reverseSign(i);
+                for (int j = 0; j < Blades.COUNT; j++) {
+                    if (!used[j]) continue;
+                    for (int t = row.start[j]; t < row.start[j + 1]; t++) {
+                        if (row.blade[t] != Mvec.Basis.SCALAR) continue;
+                        BatchKernels.fma(q, 0, sign * row.coef[t], data, (long) i * size, data, (long) j * size, size);
+                    }
+                }
+            }
+            BatchKernels.sqrtAbs(dst, q, size);
+        }
+        return dst;
+    }
+
+    /**
+     * Releases the off-heap memory of the batch.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private MvecBatch product(ProductTable table, MvecBatch b, MvecBatch dst) {
+        checkSize(b);
+        checkSize(dst);
+        boolean[] usedA = usedBlades();
+        boolean[] usedB = b.usedBlades();
+        return into(dst, dst == b, out -> {
+            for (int i = 0; i < Blades.COUNT; i++) {
+                if (!usedA[i]) continue;
+                ProductTable.Row row = table.row(i);
+                for (int j = 0; j < Blades.COUNT; j++) {
+                    if (!usedB[j]) continue;
+                    for (int t = row.start[j]; t < row.start[j + 1]; t++) {
+                        BatchKernels.fma(out, (long) row.blade[t] * size, row.coef[t],
+                                data, (long) i * size, b.data, (long) j * size, size);
+                    }
+                }
+            }
+        });
+    }
+
+    private MvecBatch product(ProductTable table, Mvec b, MvecBatch dst) {
+        checkSize(dst);
+        double[] bc = coefficients(b);
+        boolean[] used = usedBlades();
+        return into(dst, false, out -> {
+            for (int i = 0; i < Blades.COUNT; i++) {
+                if (!used[i]) continue;
+                ProductTable.Row row = table.row(i);
+                for (int j = 0; j < Blades.COUNT; j++) {
+                    if (bc[j] == 0.0) continue;
+                    for (int t = row.start[j]; t < row.start[j + 1]; t++) {
+                        BatchKernels.axpy(out, (long) row.blade[t] * size, row.coef[t] * bc[j],
+                                data, (long) i * size, size);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs an accumulating kernel into a zeroed output, going through a
+     * temporary segment when {@code dst} is also an input.
+     */
+    private MvecBatch into(MvecBatch dst, boolean aliased, Consumer<MemorySegment> kernel) {
+        if (!aliased && dst != this) {
+            dst.data.fill((byte) 0);
+            kernel.accept(dst.data);
+            return dst;
+        }
+        try (Arena tmp = Arena.ofConfined()) {
+            MemorySegment out = tmp.allocate(data.byteSize(), D.byteAlignment());
+            kernel.accept(out);
+            MemorySegment.copy(out, 0, dst.data, 0, out.byteSize());
+        }
+        return dst;
+    }
+
+    /** @return For each blade, whether any element of the batch has a non-zero coefficient on it. */
+    private boolean[] usedBlades() {
+        boolean[] used = new boolean[Blades.COUNT];
+        for (int k = 0; k < Blades.COUNT; k++) {
+            long base = (long) k * size;
+            for (int e = 0; e < size; e++) {
+                if (data.getAtIndex(D, base + e) != 0.0) {
+                    used[k] = true;
+                    break;
+                }
+            }
+        }
+        return used;
+    }
+
+    private static double[] coefficients(Mvec m) {
+        double[] c = new double[Blades.COUNT];
+        m.copyCoefficientsTo(c, 0);
+        return c;
+    }
+
+    private void checkSize(MvecBatch other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Batch size mismatch: " + other.size + " != " + size);
+        }
+    }
+}
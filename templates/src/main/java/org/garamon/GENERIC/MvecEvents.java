@@ -0,0 +1,137 @@
+package org.garamon.project_namespace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder events of {@link MvecMetrics}. Only loaded when the
+ * {@code jdk.jfr} module is present, see {@link MvecMetrics#JFR}.
+ */
+final class MvecEvents {
+
+    @Name("org.garamon.GENERIC.MvecOperation")
+    @Label("Mvec Operation")
+    @Category({"Garamon", "GENERIC"})
+    @Description("A sampled call of a multivector operator")
+    static final class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    @Name("org.garamon.GENERIC.MvecStatistics")
+    @Label("Mvec Statistics")
+    @Category({"Garamon", "GENERIC"})
+    @Description("Counters of the native multivectors")
+    @Period("1 s")
+    @StackTrace(false)
+    static final class StatisticsEvent extends Event {
+        @Label("Live")
+        long live;
+
+        @Label("Pooled")
+        @Description("Kept by the MvecPool for reuse")
+        long pooled;
+
+        @Label("Allocated")
+        long allocated;
+
+        @Label("Closed")
+        @Description("Freed explicitly")
+        long closed;
+
+        @Label("Cleaned")
+        @Description("Freed by the Cleaner")
+        long cleaned;
+
+        @Label("Replaced")
+        @Description("Replaced by the result of an in-place operator")
+        long replaced;
+    }
+
+    @Name("org.garamon.GENERIC.NativeLoad")
+    @Label("Native Library Load")
+    @Category({"Garamon", "GENERIC"})
+    @StackTrace(false)
+    static final class LoadEvent extends Event {
+        @Label("Library")
+        String library;
+
+        @Label("Cached")
+        boolean cached;
+
+        @Label("Extraction")
+        @Timespan(Timespan.NANOSECONDS)
+        long extractNanos;
+
+        @Label("Load")
+        @Timespan(Timespan.NANOSECONDS)
+        long loadNanos;
+
+        @Label("Link")
+        @Timespan(Timespan.NANOSECONDS)
+        long linkNanos;
+    }
+
+    private MvecEvents() {}
+
+    /**
+     * Registers the periodic statistics event once Flight Recorder is
+     * initialized, by a recording or its API, so that an application that
+     * never records does not register it.
+     */
+    static void init() {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            private boolean registered;
+
+            @Override
+            public synchronized void recorderInitialized(FlightRecorder recorder) {
+                if (registered) return;
+                registered = true;
+                FlightRecorder.addPeriodicEvent(StatisticsEvent.class, MvecEvents::statistics);
+            }
+        });
+    }
+
+    private static void statistics() {
+        MvecMetrics.Stats stats = MvecMetrics.stats();
+        StatisticsEvent event = new StatisticsEvent();
+        event.live = stats.live();
+        event.pooled = stats.pooled();
+        event.allocated = stats.allocated();
+        event.closed = stats.closed();
+        event.cleaned = stats.cleaned();
+        event.replaced = stats.replaced();
+        event.commit();
+    }
+
+    static void operation(MvecMetrics.Operation op, long nanos) {
+        OperationEvent event = new OperationEvent();
+        if (!event.isEnabled()) return;
+        event.operation = op.name();
+        event.nanos = nanos;
+        event.commit();
+    }
+
+    static void load(NativeLoader.LoadStats stats) {
+        LoadEvent event = new LoadEvent();
+        if (!event.isEnabled()) return;
+        event.library = stats.library().toString();
+        event.cached = stats.cached();
+        event.extractNanos = stats.extractNanos();
+        event.loadNanos = stats.loadNanos();
+        event.linkNanos = stats.linkNanos();
+        event.commit();
+    }
+}
@@ -0,0 +1,240 @@
+package org.garamon.project_namespace;
+
+/**
+ * Lazily evaluated multivector expression.
+ *
+ * <p>An expression records a tree of operators over {@link Mvec} (or
+ * {@link JavaMvec}) operands and evaluates it in one pass with the generated
+ * Java kernels of {@link JavaMvec}, so no intermediate native multivector is
+ * created:</p>
+ *
+ * <pre>{@code
+ * MvecExpr sandwich = MvecExpr.of(rotor).mul(point).mul(rotorInverse);
+ * for (...) {
+ *     point.setCoefficients(next);
+ *     sandwich.eval(result);
+ * }
+ * }</pre>
+ *
+ * <p>Operands are read at each evaluation, so an expression can be built once
+ * and evaluated many times. Products by a scalar are folded into a single
+ * factor. Each node owns a scratch buffer reused by every evaluation, hence an
+ * expression must not be evaluated by several threads at once.</p>
+ */
+public final class MvecExpr {
+    private enum Op { LEAF, ADD, ADD_SCALAR, MUL, OUTER, INNER, LEFT_CONTRACTION, RIGHT_CONTRACTION }
+
+    private final Op op;
+    private final MvecExpr left;
+    private final MvecExpr right;
+    private final Multivector<?> leaf;
+    // factor applied to the value of this node by its parent (or by eval for the root)
+    private final double scale;
+    private final double scalar;
+    private final double[] value = new double[JavaMvec.COUNT];
+
+    private MvecExpr(Op op, MvecExpr left, MvecExpr right, Multivector<?> leaf, double scale, double scalar) {
+        this.op = op;
+        this.left = left;
+        this.right = right;
+        this.leaf = leaf;
+        this.scale = scale;
+        this.scalar = scalar;
+    }
+
+    /**
+     * @param mv An operand, read at each evaluation.
+     * @return The expression made of {@code mv} alone.
+     */
+    public static MvecExpr of(Multivector<?> mv) {
+        return new MvecExpr(Op.LEAF, null, null, mv, 1.0, 0.0);
+    }
+
+    private MvecExpr withScale(double s) {
+        return new MvecExpr(op, left, right, leaf, s, scalar);
+    }
+
+    // bilinear products: the scalar factors of both operands are moved to the product
+    private MvecExpr product(Op op, MvecExpr b) {
+        return new MvecExpr(op, withScale(1.0), b.withScale(1.0), null, scale * b.scale, 0.0);
+    }
+
+    /**
+     * @param b A multivector.
+     * @return The expression {@code this + b}.
+     */
+    public MvecExpr add(Multivector<?> b) {
+        return add(of(b));
+    }
+
+    /**
+     * @param b An expression.
+     * @return The expression {@code this + b}.
+     */
+    public MvecExpr add(MvecExpr b) {
+        return new MvecExpr(Op.ADD, this, b, null, 1.0, 0.0);
+    }
+
+    /**
+     * @param s A scalar.
+     * @return The expression {@code this + s}.
+     */
+    public MvecExpr add(double s) {
+        return new MvecExpr(Op.ADD_SCALAR, this, null, null, 1.0, s);
+    }
+
+    /**
+     * @param s A scalar.
+     * @return The expression {@code this * s}, folded into the scalar factor of this expression.
+     */
+    public MvecExpr mul(double s) {
+        return withScale(scale * s);
+    }
+
+    /**
+     * @param s A scalar.
+     * @return The expression {@code s * this}, folded into the scalar factor of this expression.
+     */
+    public MvecExpr rmul(double s) {
+        return mul(s);
+    }
+
+    /**
+     * @param b A multivector.
+     * @return The expression {@code this * b}.
+     */
+    public MvecExpr mul(Multivector<?> b) {
+        return mul(of(b));
+    }
+
+    /**
+     * @param b An expression.
+     * @return The expression {@code this * b}.
+     */
+    public MvecExpr mul(MvecExpr b) {
+        return product(Op.MUL, b);
+    }
+
+    /**
+     * @param b A multivector.
+     * @return The expression {@code this ^ b}.
+     */
+    public MvecExpr outer(Multivector<?> b) {
+        return outer(of(b));
+    }
+
+    /**
+     * @param b An expression.
+     * @return The expression {@code this ^ b}.
+     */
+    public MvecExpr outer(MvecExpr b) {
+        return product(Op.OUTER, b);
+    }
+
+    /**
+     * @param b A multivector.
+     * @return The expression {@code this . b}.
+     */
+    public MvecExpr inner(Multivector<?> b) {
+        return inner(of(b));
+    }
+
+    /**
+     * @param b An expression.
+     * @return The expression {@code this . b}.
+     */
+    public MvecExpr inner(MvecExpr b) {
+        return product(Op.INNER, b);
+    }
+
+    /**
+     * @param b A multivector.
+     * @return The expression {@code this < b}.
+     */
+    public MvecExpr leftContraction(Multivector<?> b) {
+        return leftContraction(of(b));
+    }
+
+    /**
+     * @param b An expression.
+     * @return The expression {@code this < b}.
+     */
+    public MvecExpr leftContraction(MvecExpr b) {
+        return product(Op.LEFT_CONTRACTION, b);
+    }
+
+    /**
+     * @param b A multivector.
+     * @return The expression {@code this > b}.
+     */
+    public MvecExpr rightContraction(Multivector<?> b) {
+        return rightContraction(of(b));
+    }
+
+    /**
+     * @param b An expression.
+     * @return The expression {@code this > b}.
+     */
+    public MvecExpr rightContraction(MvecExpr b) {
+        return product(Op.RIGHT_CONTRACTION, b);
+    }
+
+    /**
+     * Evaluates the expression into an existing multivector.
+     * @param dst The multivector receiving the result; may be one of the operands.
+     * @return {@code dst}.
+     */
+    public <T extends Multivector<T>> T eval(T dst) {
+        double[] r = evaluate();
+        if (scale != 1.0) {
+            for (int k = 0; k < r.length; k++) r[k] *= scale;
+        }
+        if (dst instanceof Mvec mv) {
+            mv.setCoefficients(r);
+        } else {
+            dst.clear();
+            for (int k = 0; k < r.length; k++) {
+                if (r[k] != 0.0) dst.set(k, r[k]);
+            }
+        }
+        return dst;
+    }
+
+    /**
+     * Evaluates the expression into a new native multivector.
+     * @return The result.
+     */
+    public Mvec eval() {
+        return eval(new Mvec());
+    }
+
+    /** @return The value of this node, without its own scale, in its scratch buffer. */
+    private double[] evaluate() {
+        double[] r = value;
+        switch (op) {
+            case LEAF -> {
+                if (leaf instanceof Mvec mv) {
+                    mv.copyCoefficientsTo(r, 0);
+                } else {
+                    for (int k = 0; k < r.length; k++) r[k] = leaf.get(k);
+                }
+            }
+            case ADD -> {
+                double[] a = left.evaluate();
+                double[] b = right.evaluate();
+                for (int k = 0; k < r.length; k++) r[k] = left.scale * a[k] + right.scale * b[k];
+            }
+            case ADD_SCALAR -> {
+                double[] a = left.evaluate();
+                for (int k = 0; k < r.length; k++) r[k] = left.scale * a[k];
+                r[Mvec.Basis.SCALAR] += scalar;
+            }
+            case MUL -> JavaMvec.mul(left.evaluate(), right.evaluate(), r);
+            case OUTER -> JavaMvec.outer(left.evaluate(), right.evaluate(), r);
+            case INNER -> JavaMvec.inner(left.evaluate(), right.evaluate(), r);
+            case LEFT_CONTRACTION -> JavaMvec.leftContraction(left.evaluate(), right.evaluate(), r);
+            case RIGHT_CONTRACTION -> JavaMvec.rightContraction(left.evaluate(), right.evaluate(), r);
+        }
+        return r;
+    }
+}
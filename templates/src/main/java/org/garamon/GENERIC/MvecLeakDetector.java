@@ -0,0 +1,225 @@
+package org.garamon.project_namespace;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detection of multivectors that are never closed, and native memory budget.
+ *
+ * <p>A multivector that is not closed keeps its native memory until a GC
+ * finds it unreachable and the Cleaner frees it: with a small heap and many
+ * multivectors, native memory grows long before a GC runs. With
+ * {@code -Dgaramon.leak.detection=sample}, the allocation stack trace of one
+ * multivector out of {@code garamon.leak.sampleInterval} (default 128) is
+ * recorded, and a warning with that trace is logged when the Cleaner frees it
+ * instead of {@code close()}; {@code paranoid} records every multivector.
+ * Each allocation site is reported once. Multivectors owned by an
+ * {@link MvecScope} are always freed explicitly, and frozen multivectors are
+ * freed by the Cleaner by design: neither is tracked.</p>
+ *
+ * <p>{@code -Dgaramon.native.budget=<bytes>} (with an optional {@code k},
+ * {@code m} or {@code g} suffix) bounds the native memory held, estimated
+ * from the {@link MvecMetrics} counters at {@link #bytesPerMvec()} bytes for
+ * each native multivector not deleted yet, the ones kept by the
+ * {@link MvecPool} included. It is checked before a native multivector is
+ * allocated, not when one is taken from the pool. Above the budget, a GC is
+ * requested, at most once every 100 ms, so that the Cleaner frees the
+ * unreachable multivectors; with {@code -Dgaramon.native.budgetAction=block}
+ * the allocating thread also waits, up to
+ * {@code garamon.native.budgetWaitMillis} (default 1000), until the Cleaner
+ * brings the usage back under the budget. It does not wait when the new
+ * multivector will be owned by an {@link MvecScope}, which frees it itself,
+ * nor once a GC interval passed without any multivector being freed: the
+ * remaining ones are then reachable. The budget needs the metrics, it is
+ * ignored with {@code -Dgaramon.metrics=false}.</p>
+ *
+ * <p>When both are disabled, the default, the hooks are constant-folded away.</p>
+ */
+public final class MvecLeakDetector {
+    /** How many allocation sites are recorded. */
+    public enum Level { DISABLED, SAMPLE, PARANOID }
+
+    /** What happens above the native budget. */
+    public enum BudgetAction { GC, BLOCK }
+
+    static final Level LEVEL = Level.valueOf(
+            System.getProperty("garamon.leak.detection", "disabled").toUpperCase(Locale.ROOT));
+    private static final int SAMPLE_INTERVAL = Math.max(1, Integer.getInteger("garamon.leak.sampleInterval", 128));
+
+    private static final long BUDGET = parseBytes(System.getProperty("garamon.native.budget", "0"));
+    private static final BudgetAction BUDGET_ACTION = BudgetAction.valueOf(
+            System.getProperty("garamon.native.budgetAction", "gc").toUpperCase(Locale.ROOT));
+    private static final long BUDGET_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("garamon.native.budgetWaitMillis", 1000));
+    private static final long GC_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Estimated native size of a multivector: all its coefficients and the C++ object. */
+    private static final long BYTES_PER_MVEC = Long.getLong("garamon.native.bytesPerMvec",
+            (long) Blades.COUNT * Double.BYTES + 64);
+
+    /** Whether leak detection is enabled. */
+    static final boolean TRACKING = LEVEL != Level.DISABLED;
+    /** Whether the native memory budget is applied. */
+    static final boolean ACCOUNTING = BUDGET > 0 && MvecMetrics.ENABLED;
+
+    private static final AtomicLong LAST_GC = new AtomicLong(System.nanoTime() - GC_INTERVAL_NANOS);
+    private static final Object FREED = new Object();
+    private static final LongAdder LEAKS = new LongAdder();
+    // allocation sites already reported, bounded so that a leak in generated code cannot exhaust the heap
+    private static final Set<String> REPORTED = ConcurrentHashMap.newKeySet();
+    private static final int MAX_REPORTED = 1024;
+
+    private static final System.Logger LOGGER = System.getLogger(MvecLeakDetector.class.getName());
+
+    static {
+        if (BUDGET > 0 && !ACCOUNTING) {
+            LOGGER.log(System.Logger.Level.WARNING, "garamon.native.budget is ignored with garamon.metrics=false");
+        }
+    }
+
+    /** The stack trace of a tracked allocation. */
+    static final class AllocationSite extends Throwable {
+        AllocationSite() {
+            super("Mvec allocated here");
+        }
+    }
+
+    private MvecLeakDetector() {}
+
+    /** @return The leak detection level, set with {@code -Dgaramon.leak.detection}. */
+    public static Level level() {
+        return LEVEL;
+    }
+
+    /** @return The number of tracked multivectors freed by the Cleaner instead of {@code close()}. */
+    public static long leaks() {
+        return LEAKS.sum();
+    }
+
+    /** @return The native memory budget in bytes, 0 if there is none. */
+    public static long budget() {
+        return BUDGET;
+    }
+
+    /** @return The estimated native size of a multivector, set with {@code -Dgaramon.native.bytesPerMvec}. */
+    public static long bytesPerMvec() {
+        return BYTES_PER_MVEC;
+    }
+
+    /**
+     * @return The estimated native memory held by the multivectors not deleted
+     * yet, pooled ones included, or 0 when the {@link MvecMetrics} are disabled.
+     */
+    public static long nativeBytes() {
+        return MvecMetrics.ENABLED ? MvecMetrics.stats().held() * BYTES_PER_MVEC : 0;
+    }
+
+    /** Applies the budget before a native multivector is allocated. */
+    static void reserve() {
+        if (!ACCOUNTING || !overBudget()) return;
+        requestGc();
+        // a scope frees its multivectors itself, waiting for the Cleaner would not help
+        if (BUDGET_ACTION == BudgetAction.BLOCK && MvecScope.current() == null) {
+            awaitCleaner();
+        }
+    }
+
+    /**
+     * @return The allocation site of a multivector registered with the Cleaner,
+     * or {@code null} if it is not tracked.
+     */
+    static AllocationSite site() {
+        if (!TRACKING) return null;
+        if (LEVEL == Level.SAMPLE && ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) != 0) {
+            return null;
+        }
+        return new AllocationSite();
+    }
+
+    /**
+     * Accounts a freed multivector.
+     * @param site Its allocation site, if tracked.
+     * @param explicit False when the Cleaner frees it.
+     */
+    static void freed(AllocationSite site, boolean explicit) {
+        if (ACCOUNTING && BUDGET_ACTION == BudgetAction.BLOCK) {
+            synchronized (FREED) {
+                FREED.notifyAll();
+            }
+        }
+        if (site != null && !explicit) {
+            report(site);
+        }
+    }
+
+    private static void report(AllocationSite site) {
+        LEAKS.increment();
+        String key = Arrays.toString(site.getStackTrace());
+        if (REPORTED.size() >= MAX_REPORTED || !REPORTED.add(key)) return;
+        LOGGER.log(System.Logger.Level.WARNING,
+                "LEAK: an Mvec was freed by the Cleaner, close() was never called on it. "
+                        + "Close multivectors, or create them in an MvecScope.", site);
+    }
+
+    private static boolean overBudget() {
+        return nativeBytes() + BYTES_PER_MVEC > BUDGET;
+    }
+
+    /**
+     * Waits until the usage falls under the budget, giving up at the deadline
+     * or after a GC interval during which nothing was freed.
+     */
+    private static void awaitCleaner() {
+        long deadline = System.nanoTime() + BUDGET_WAIT_NANOS;
+        long freed = freedCount();
+        synchronized (FREED) {
+            long left;
+            while (overBudget() && (left = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(FREED, Math.min(left, GC_INTERVAL_NANOS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long now = freedCount();
+                if (now == freed) return;
+                freed = now;
+                requestGc();
+            }
+        }
+    }
+
+    private static long freedCount() {
+        MvecMetrics.Stats stats = MvecMetrics.stats();
+        return stats.closed() + stats.cleaned();
+    }
+
+    /** Runs a GC, unless one was requested less than 100 ms ago. */
+    private static void requestGc() {
+        long now = System.nanoTime();
+        long last = LAST_GC.get();
+        if (now - last >= GC_INTERVAL_NANOS && LAST_GC.compareAndSet(last, now)) {
+            System.gc();
+        }
+    }
+
+    static long parseBytes(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        if (v.endsWith("k")) unit = 1L << 10;
+        else if (v.endsWith("m")) unit = 1L << 20;
+        else if (v.endsWith("g")) unit = 1L << 30;
+        if (unit > 1) v = v.substring(0, v.length() - 1);
+        try {
+            return Math.multiplyExact(Long.parseLong(v), unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid size for garamon.native.budget: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.garamon.project_namespace;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the native multivectors, and sampled latencies of the operators.
+ *
+ * <p>The counters are {@link LongAdder}s, updated when an {@link Mvec} is
+ * created, when its native multivector is freed, either explicitly
+ * ({@code close()}, an {@link MvecScope}) or by the Cleaner, and when an
+ * in-place operator replaces it, which is counted apart so that the
+ * allocations and frees only follow the lifetimes of the multivectors.
+ * One operator call out of {@link #sampleInterval()} is
+ * timed. They are enabled by default, {@code -Dgaramon.metrics=false}
+ * disables them entirely.</p>
+ *
+ * <p>The same figures are recorded as JDK Flight Recorder events, which cost
+ * nothing until a recording enables them: a periodic {@code MvecStatistics}
+ * event, an {@code MvecOperation} event for each sampled operator call and a
+ * {@code NativeLoad} event, all in the {@code Garamon} category. Call
+ * {@link #registerMBean()}, or run with {@code -Dgaramon.metrics.jmx=true},
+ * to expose them through JMX as well.</p>
+ */
+public final class MvecMetrics {
+    /** Whether the counters are updated. */
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("garamon.metrics", "true"));
+    /** Whether Flight Recorder events are emitted, only when the jdk.jfr module is present. */
+    static final boolean JFR = ENABLED && ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /** The operators whose latency is sampled, regardless of their value, in-place or {@code Into} form. */
+    public enum Operation { ADD, ADD_SCALAR, MUL, MUL_SCALAR, OUTER, INNER, LEFT_CONTRACTION, RIGHT_CONTRACTION }
+
+    private static final LongAdder ALLOCATED = new LongAdder();
+    private static final LongAdder CLOSED = new LongAdder();
+    private static final LongAdder CLEANED = new LongAdder();
+    private static final LongAdder REPLACED = new LongAdder();
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final LongAdder[] SAMPLES = adders();
+    private static final LongAdder[] SAMPLED_NANOS = adders();
+
+    private static volatile int sampleInterval = Math.max(0, Integer.getInteger("garamon.metrics.sampleInterval", 1024));
+
+    private static ObjectName registered;
+
+    static {
+        // only registers a listener, the event is registered when Flight Recorder starts
+        if (JFR) MvecEvents.init();
+        if (Boolean.getBoolean("garamon.metrics.jmx")) registerMBean();
+    }
+
+    /**
+     * Counters of the native multivectors, summed over all the threads.
+     * @param allocated Multivectors created.
+     * @param closed Multivectors released explicitly, their native multivector deleted or given to the {@link MvecPool}.
+     * @param cleaned Multivectors freed by the Cleaner.
+     * @param pooled Native multivectors currently kept by the {@link MvecPool}, counted as closed.
+     * @param replaced Native multivectors replaced by the result of an in-place operator, not
+     * counted as allocated nor closed.
+     */
+    public record Stats(long allocated, long closed, long cleaned, long pooled, long replaced) {
+        /** @return The number of native multivectors held by an {@link Mvec}, neither closed nor cleaned yet. */
+        public long live() {
+            return allocated - closed - cleaned;
+        }
+
+        /** @return The number of native multivectors not deleted yet: the live ones and the pooled ones. */
+        public long held() {
+            return live() + pooled;
+        }
+    }
+
+    /**
+     * Sampled latency of an operator.
+     * @param samples The number of timed calls.
+     * @param totalNanos The total time of the timed calls.
+     */
+    public record Latency(long samples, long totalNanos) {
+        /** @return The mean time of a call, 0 if none was timed. */
+        public double meanNanos() {
+            return samples == 0 ? 0.0 : (double) totalNanos / samples;
+        }
+    }
+
+    private MvecMetrics() {}
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[Operation.values().length];
+        for (int i = 0; i < adders.length; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    /** @return The counters of the native multivectors. */
+    public static Stats stats() {
+        // read the frees first, so that live() is never negative
+        long cleaned = CLEANED.sum();
+        long closed = CLOSED.sum();
+        return new Stats(ALLOCATED.sum(), closed, cleaned, MvecPool.pooled(), REPLACED.sum());
+    }
+
+    /** @return The sampled latency of every operator. */
+    public static Map<Operation, Latency> latencies() {
+        Map<Operation, Latency> res = new EnumMap<>(Operation.class);
+        for (Operation op : OPERATIONS) {
+            res.put(op, new Latency(SAMPLES[op.ordinal()].sum(), SAMPLED_NANOS[op.ordinal()].sum()));
+        }
+        return res;
+    }
+
+    /** @return One operator call out of this number is timed, 0 when sampling is disabled. */
+    public static int sampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Sets the sampling of the operator latencies, also set with
+     * {@code -Dgaramon.metrics.sampleInterval=<n>} (default 1024).
+     * @param n One call out of {@code n} is timed, 0 to disable sampling.
+     */
+    public static void setSampleInterval(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative sample interval: " + n);
+        }
+        sampleInterval = n;
+    }
+
+    /** Resets the sampled latencies, the counters of multivectors are kept. */
+    public static void resetLatencies() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            SAMPLES[i].reset();
+            SAMPLED_NANOS[i].reset();
+        }
+    }
+
+    /**
+     * Registers the {@link MvecMetricsMXBean} with the platform MBean server,
+     * as {@code org.garamon:type=MvecMetrics,algebra=GENERIC}. Does nothing if
+     * it is already registered.
+     */
+    public static synchronized void registerMBean() {
+        if (registered != null) return;
+        try {
+            ObjectName name = new ObjectName("org.garamon:type=MvecMetrics,algebra=GENERIC");
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(), name);
+            } catch (InstanceAlreadyExistsException e) {
+                // registered by another class loader of the same algebra
+            }
+            registered = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the MvecMetrics MBean", e);
+        }
+    }
+
+    static void allocated() {
+        if (ENABLED) ALLOCATED.increment();
+    }
+
+    static void replaced() {
+        if (ENABLED) REPLACED.increment();
+    }
+
+    /** @param explicit False when the Cleaner frees the native multivector. */
+    static void freed(boolean explicit) {
+        if (ENABLED) (explicit ? CLOSED : CLEANED).increment();
+    }
+
+    /** @return The start time of an operator call to time, 0 if it is not sampled. */
+    static long sample() {
+        if (!ENABLED) return 0;
+        int n = sampleInterval;
+        if (n == 0 || ThreadLocalRandom.current().nextInt(n) != 0) return 0;
+        return System.nanoTime();
+    }
+
+    /** Records the end of an operator call, if {@link #sample()} chose to time it. */
+    static void operation(Operation op, long start) {
+        if (start == 0) return;
+        long nanos = System.nanoTime() - start;
+        SAMPLES[op.ordinal()].increment();
+        SAMPLED_NANOS[op.ordinal()].add(nanos);
+        if (JFR) MvecEvents.operation(op, nanos);
+    }
+
+    static void loaded(NativeLoader.LoadStats stats) {
+        if (JFR) MvecEvents.load(stats);
+    }
+
+    private static final class MBean implements MvecMetricsMXBean {
+        private long rateTime = System.nanoTime();
+        private long rateCount;
+        private double rate;
+
+        @Override
+        public long getLiveCount() {
+            return stats().live();
+        }
+
+        @Override
+        public long getPooledCount() {
+            return MvecPool.pooled();
+        }
+
+        @Override
+        public long getAllocatedCount() {
+            return ALLOCATED.sum();
+        }
+
+        @Override
+        public long getClosedCount() {
+            return CLOSED.sum();
+        }
+
+        @Override
+        public long getCleanedCount() {
+            return CLEANED.sum();
+        }
+
+        @Override
+        public long getReplacedCount() {
+            return REPLACED.sum();
+        }
+
+        @Override
+        public synchronized double getAllocationsPerSecond() {
+            // averaged since the previous read, at least over one second
+            long now = System.nanoTime();
+            if (now - rateTime >= 1_000_000_000L) {
+                long count = ALLOCATED.sum();
+                rate = (count - rateCount) * 1e9 / (now - rateTime);
+                rateTime = now;
+                rateCount = count;
+            }
+            return rate;
+        }
+
+        @Override
+        public Map<String, Long> getSampledOperationCounts() {
+            Map<String, Long> res = new LinkedHashMap<>();
+            latencies().forEach((op, latency) -> res.put(op.name(), latency.samples()));
+            return res;
+        }
+
+        @Override
+        public Map<String, Double> getMeanOperationNanos() {
+            Map<String, Double> res = new LinkedHashMap<>();
+            latencies().forEach((op, latency) -> res.put(op.name(), latency.meanNanos()));
+            return res;
+        }
+
+        @Override
+        public int getSampleInterval() {
+            return sampleInterval();
+        }
+
+        @Override
+        public void setSampleInterval(int n) {
+            MvecMetrics.setSampleInterval(n);
+        }
+
+        @Override
+        public String getLibrary() {
+            return NativeLoader.stats().library().toString();
+        }
+
+        @Override
+        public long getLibraryLoadNanos() {
+            NativeLoader.LoadStats stats = NativeLoader.stats();
+            return stats.extractNanos() + stats.loadNanos() + stats.linkNanos();
+        }
+
+        @Override
+        public void resetLatencies() {
+            MvecMetrics.resetLatencies();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.garamon.project_namespace;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link MvecMetrics}, registered with {@link MvecMetrics#registerMBean()}.
+ */
+public interface MvecMetricsMXBean {
+    /** @return The number of native multivectors held by a multivector that was neither closed nor cleaned. */
+    long getLiveCount();
+
+    /** @return The number of native multivectors kept by the {@link MvecPool} for reuse. */
+    long getPooledCount();
+
+    /** @return The number of multivectors created. */
+    long getAllocatedCount();
+
+    /** @return The number of native multivectors freed explicitly. */
+    long getClosedCount();
+
+    /** @return The number of native multivectors freed by the Cleaner. */
+    long getCleanedCount();
+
+    /** @return The number of native multivectors replaced by the result of an in-place operator. */
+    long getReplacedCount();
+
+    /** @return The rate of creation of multivectors, averaged since the previous read. */
+    double getAllocationsPerSecond();
+
+    /** @return The number of timed calls, by operator. */
+    Map<String, Long> getSampledOperationCounts();
+
+    /** @return The mean time of the timed calls, by operator. */
+    Map<String, Double> getMeanOperationNanos();
+
+    /** @return One operator call out of this number is timed, 0 when sampling is disabled. */
+    int getSampleInterval();
+
+    /** @param n One operator call out of {@code n} is timed, 0 to disable sampling. */
+    void setSampleInterval(int n);
+
+    /** @return The path of the loaded native library. */
+    String getLibrary();
+
+    /** @return The time taken to extract, load and link the native library. */
+    long getLibraryLoadNanos();
+
+    /** Resets the sampled latencies. */
+    void resetLatencies();
+}
@@ -0,0 +1,162 @@
+package org.garamon.project_namespace;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in recycling of native multivectors.
+ *
+ * <p>When pooling is enabled, with {@code -Dgaramon.pool.size=<n>} or
+ * {@link #setCapacity(int)}, an explicitly closed {@link Mvec} is cleared and
+ * kept in a free list of at most {@code n} native multivectors per thread,
+ * instead of being deleted. The constructors of {@code Mvec} then take their
+ * native multivector from the free list of the current thread before
+ * allocating a new one. In-place operators recycle the native multivector
+ * they replace the same way.</p>
+ *
+ * <p>The results of the native operators ({@code mul}, {@code add}...) are
+ * always allocated by the library, so pooling pays off when multivectors are
+ * built from coefficients and closed in steady-state loops. Multivectors
+ * reclaimed by the garbage collector are deleted, never pooled. The free list
+ * of a thread is deleted once the thread is gone; with virtual threads each
+ * one has its own, usually short-lived, list.</p>
+ */
+public final class MvecPool {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static volatile int capacity = Math.max(0, Integer.getInteger("garamon.pool.size", 0));
+
+    private static final ThreadLocal<FreeList> FREE = ThreadLocal.withInitial(FreeList::new);
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder RECYCLED = new LongAdder();
+    private static final LongAdder DISCARDED = new LongAdder();
+    // native multivectors currently in the free lists
+    private static final LongAdder POOLED = new LongAdder();
+
+    /**
+     * Counters of the pool, summed over all the threads.
+     * @param hits Multivectors created from a pooled native multivector.
+     * @param misses Multivectors allocated natively while pooling was enabled.
+     * @param recycled Native multivectors returned to a free list.
+     * @param discarded Native multivectors deleted because the free list was full.
+     */
+    public record Stats(long hits, long misses, long recycled, long discarded) {
+        /** @return The fraction of creations served by the pool, 0 if none happened. */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    // the slots outlive the FreeList so that the Cleaner can delete them
+    private static final class Slots implements Runnable {
+        MemorySegment[] items = new MemorySegment[0];
+        int size;
+
+        @Override
+        public void run() {
+            for (int i = 0; i < size; i++) {
+                Mvec_h.Mvec_delete(items[i]);
+                items[i] = null;
+            }
+            POOLED.add(-size);
+            size = 0;
+        }
+    }
+
+    private static final class FreeList {
+        final Slots slots = new Slots();
+
+        FreeList() {
+            CLEANER.register(this, slots);
+        }
+    }
+
+    private MvecPool() {}
+
+    /** @return The maximum number of pooled native multivectors per thread, 0 when pooling is disabled. */
+    public static int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of pooled native multivectors per thread.
+     * The free list of the current thread is trimmed to the new capacity,
+     * those of other threads shrink as they are used.
+     * @param n The new capacity, 0 to disable pooling.
+     */
+    public static void setCapacity(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative pool capacity: " + n);
+        }
+        capacity = n;
+        Slots slots = FREE.get().slots;
+        while (slots.size > n) {
+            Mvec_h.Mvec_delete(slots.items[--slots.size]);
+            slots.items[slots.size] = null;
+            POOLED.decrement();
+        }
+    }
+
+    /** @return The counters of the pool. */
+    public static Stats stats() {
+        return new Stats(HITS.sum(), MISSES.sum(), RECYCLED.sum(), DISCARDED.sum());
+    }
+
+    /** @return The number of native multivectors held by the free lists of all the threads. */
+    static long pooled() {
+        return POOLED.sum();
+    }
+
+    /** Resets the counters of the pool. */
+    public static void resetStats() {
+        HITS.reset();
+        MISSES.reset();
+        RECYCLED.reset();
+        DISCARDED.reset();
+    }
+
+    /**
+     * @return A cleared native multivector from the free list of the current
+     * thread, or {@code null} if the list is empty or pooling is disabled.
+     */
+    static MemorySegment poll() {
+        if (capacity == 0) return null;
+        Slots slots = FREE.get().slots;
+        if (slots.size == 0) {
+            MISSES.increment();
+            return null;
+        }
+        HITS.increment();
+        POOLED.decrement();
+        MemorySegment seg = slots.items[--slots.size];
+        slots.items[slots.size] = null;
+        return seg;
+    }
+
+    /**
+     * Offers a native multivector that is no longer referenced to the free list
+     * of the current thread.
+     * @return true if the pool took it, false if the caller must delete it.
+     */
+    static boolean offer(MemorySegment seg) {
+        int n = capacity;
+        if (n == 0) return false;
+        Slots slots = FREE.get().slots;
+        if (slots.size >= n) {
+            DISCARDED.increment();
+            return false;
+        }
+        Mvec_h.Mvec_clear(seg, -1);
+        if (slots.size == slots.items.length) {
+            slots.items = java.util.Arrays.copyOf(slots.items, Math.min(n, Math.max(8, 2 * slots.size)));
+        }
+        slots.items[slots.size++] = seg;
+        RECYCLED.increment();
+        POOLED.increment();
+        return true;
+    }
+}
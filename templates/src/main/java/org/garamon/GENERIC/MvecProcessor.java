@@ -0,0 +1,136 @@
+package org.garamon.project_namespace;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * A {@link Flow.Processor} applying the same transform to a stream of
+ * chunks of multivectors, such as the rotation of incoming points by a rotor.
+ *
+ * <pre>{@code
+ * MvecProcessor rotate = new MvecProcessor(MvecProcessor.Transform.mul(rotor, rotorReverse));
+ * points.subscribe(rotate);   // a Flow.Publisher<MvecArray>
+ * rotate.subscribe(sink);
+ * }</pre>
+ *
+ * <p>Each chunk is transformed in place, with the bulk operators of
+ * {@link MvecArray}, then published to the subscribers through a buffer of
+ * bounded capacity. When a subscriber lags behind, publishing blocks and no
+ * more chunks are requested upstream, so memory use stays bounded.
+ * The upstream publisher must not modify a chunk once it is submitted.</p>
+ *
+ * <p>Chunks are transformed one at a time and in order, on the thread
+ * delivering them; chunks of more than a few hundred multivectors are split
+ * over the common {@link ForkJoinPool}. Small chunks thus give a low latency
+ * per chunk, large ones the highest throughput in multivectors per second.</p>
+ */
+public final class MvecProcessor extends SubmissionPublisher<MvecArray>
+        implements Flow.Processor<MvecArray, MvecArray> {
+
+    /**
+     * An in-place transform of a chunk of multivectors.
+     */
+    @FunctionalInterface
+    public interface Transform {
+        /**
+         * @param chunk The multivectors to transform, overwritten with the result.
+         */
+        void apply(MvecArray chunk);
+
+        /**
+         * @param next The transform applied after this one.
+         * @return The composition of both transforms.
+         */
+        default Transform andThen(Transform next) {
+            Objects.requireNonNull(next);
+            return chunk -> {
+                apply(chunk);
+                next.apply(chunk);
+            };
+        }
+
+        /**
+         * The geometric product of every multivector by {@code b}. The product
+         * is compiled once, changing {@code b} afterwards has no effect.
+         * @param b The right operand.
+         * @return The transform {@code x -> x * b}.
+         */
+        static Transform mul(Mvec b) {
+            MvecArray.LinearMap m = MvecArray.LinearMap.of(null, b);
+            return chunk -> chunk.map(m, chunk);
+        }
+
+        /**
+         * The geometric product of every multivector on both sides, e.g. by a
+         * rotor or a motor and its reverse. The product is compiled once,
+         * changing the operands afterwards has no effect.
+         * @param a The left operand.
+         * @param b The right operand.
+         * @return The transform {@code x -> a * x * b}.
+         */
+        static Transform mul(Mvec a, Mvec b) {
+            MvecArray.LinearMap m = MvecArray.LinearMap.of(a, b);
+            return chunk -> chunk.map(m, chunk);
+        }
+    }
+
+    private final Transform transform;
+    private Flow.Subscription subscription;
+
+    /**
+     * Creates a processor publishing on the common pool, with the default buffer capacity.
+     * @param transform The transform applied to every chunk.
+     */
+    public MvecProcessor(Transform transform) {
+        this(transform, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param transform The transform applied to every chunk.
+     * @param executor The executor delivering the chunks to the subscribers.
+     * @param maxBufferCapacity The maximum number of chunks buffered for each
+     * subscriber, and requested in advance from the upstream publisher.
+     */
+    public MvecProcessor(Transform transform, Executor executor, int maxBufferCapacity) {
+        super(executor, maxBufferCapacity);
+        this.transform = Objects.requireNonNull(transform);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(getMaxBufferCapacity());
+    }
+
+    @Override
+    public void onNext(MvecArray chunk) {
+        if (isClosed()) return;
+        try {
+            transform.apply(chunk);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+        // blocks while a subscriber buffer is full, which holds back the upstream demand
+        submit(chunk);
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+}
@@ -0,0 +1,90 @@
+package org.garamon.project_namespace;
+
+/**
+ * Lexical lifetime for multivectors.
+ *
+ * <p>Every {@link Mvec} created by the current thread while a scope is open is
+ * owned by that scope instead of being registered with the Cleaner. All of them
+ * are freed at once when the scope is closed:</p>
+ *
+ * <pre>{@code
+ * try (MvecScope scope = MvecScope.open()) {
+ *     Mvec r = a.mul(b).outer(c);
+ *     ...
+ * } // every Mvec created in the block is freed here
+ * }</pre>
+ *
+ * <p>Scopes are confined to the thread that opened them and may be nested; the
+ * innermost open scope owns new multivectors. A multivector must not be used
+ * once its scope is closed. Run with {@code -Dgaramon.scope.debug=true} to get
+ * an {@link IllegalStateException} instead of undefined behaviour when it is.</p>
+ */
+public final class MvecScope implements AutoCloseable {
+    static final boolean DEBUG = Boolean.getBoolean("garamon.scope.debug");
+
+    private static final ThreadLocal<MvecScope> CURRENT = new ThreadLocal<>();
+
+    private final MvecScope parent;
+    private final Thread owner;
+    private Runnable[] natives = new Runnable[16];
+    private int size;
+    private boolean closed;
+
+    private MvecScope(MvecScope parent) {
+        this.parent = parent;
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Opens a new scope on the current thread, nested in the currently open one if any.
+     * @return The new scope, to be closed by the same thread.
+     */
+    public static MvecScope open() {
+        MvecScope scope = new MvecScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /** @return The innermost scope open on the current thread, or {@code null}. */
+    static MvecScope current() {
+        return CURRENT.get();
+    }
+
+    void register(Runnable nativeState) {
+        if (size == natives.length) {
+            natives = java.util.Arrays.copyOf(natives, size * 2);
+        }
+        natives[size++] = nativeState;
+    }
+
+    /** @return The number of multivectors owned by this scope. */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Frees every multivector created in this scope and restores the enclosing scope.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("MvecScope must be closed by the thread that opened it");
+        }
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("MvecScope closed out of order, close nested scopes first");
+        }
+        closed = true;
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+        // release in reverse creation order
+        for (int i = size - 1; i >= 0; i--) {
+            natives[i].run();
+            natives[i] = null;
+        }
+        size = 0;
+    }
+}
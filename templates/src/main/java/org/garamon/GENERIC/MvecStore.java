@@ -0,0 +1,330 @@
+package org.garamon.project_namespace;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A file of multivectors, memory-mapped and grown by appending.
+ *
+ * <p>The file starts with a {@value #HEADER_SIZE}-byte header:</p>
+ * <pre>
+ *  0  magic "GARAMVEC"
+ *  8  int   format version, 1
+ * 12  int   number of basis blades, {@code Mvec.Basis} of the algebra
+ * 16  int   coefficient layout, 1 = element by element, IEEE-754 doubles
+ * 20  int   byte order mark, 0x01020304 in the byte order of the coefficients
+ * 24  long  number of multivectors
+ * 32  32 bytes, name of the algebra in UTF-8, zero padded, truncated if longer
+ * </pre>
+ * <p>followed by the coefficients, with the layout of {@link MvecArray}: blade
+ * {@code k} of element {@code e} is the double at index
+ * {@code e * bladeCount() + k}. Opening a store only maps the file and checks
+ * the header, the coefficients are paged in by the OS when read, so opening
+ * takes the same time whatever the size of the file.</p>
+ *
+ * <p>Views returned by {@link #view(long, int)} are {@link MvecArray}s backed
+ * by the mapping: the bulk operators read and write the file directly, without
+ * copying it to the heap. Views and segments stay valid until the store is
+ * closed, even after the store grows. They may be read by several threads,
+ * but appends must be confined to one thread at a time.</p>
+ */
+public final class MvecStore implements AutoCloseable {
+    /** The name of the algebra recorded in the stores it writes. */
+    public static final String ALGEBRA = "GENERIC";
+
+    static final int HEADER_SIZE = 64;
+    private static final long MAGIC = 0x4345564d41524147L; // "GARAMVEC" in little endian
+    private static final int VERSION = 1;
+    private static final int LAYOUT_ELEMENTS = 1;
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+    private static final int NAME_SIZE = 32;
+    // the name field of the header, compared as a whole since a long name is truncated
+    private static final byte[] NAME = Arrays.copyOf(ALGEBRA.getBytes(StandardCharsets.UTF_8), NAME_SIZE);
+
+    private static final ValueLayout.OfLong MAGIC_LAYOUT = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble D = ValueLayout.JAVA_DOUBLE;
+    private static final int COUNT = Blades.COUNT;
+    private static final long STRIDE = D.byteSize() * COUNT;
+    // initial room of a new store, in multivectors
+    private static final long MIN_CAPACITY = 1024;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    // one arena per mapping, all closed with the store so that earlier views stay valid
+    private final List<Arena> arenas = new ArrayList<>();
+    private MemorySegment mapped;
+    private long capacity;
+    private long size;
+    private boolean closed;
+
+    private MvecStore(FileChannel channel, boolean writable) {
+        this.channel = channel;
+        this.writable = writable;
+    }
+
+    /**
+     * Creates an empty store, replacing the file if it exists.
+     * @param file The path of the store.
+     * @return The store, open for reading and appending.
+     * @throws IOException if the file cannot be created.
+     */
+    public static MvecStore create(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MvecStore store = new MvecStore(channel, true);
+        try {
+            store.map(MIN_CAPACITY);
+            store.writeHeader();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Opens an existing store.
+     * @param file The path of the store.
+     * @param writable Whether to allow {@code set} and {@code append}, otherwise the mapping is read-only.
+     * @return The store.
+     * @throws IOException if the file cannot be read, or is not a store of this algebra.
+     */
+    public static MvecStore open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        MvecStore store = new MvecStore(channel, writable);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(file + " is not a multivector store: too short");
+            }
+            store.map((channel.size() - HEADER_SIZE) / STRIDE);
+            store.size = store.readHeader(file);
+            if (store.size > store.capacity) {
+                throw new IOException(file + " is truncated: " + store.size + " multivectors recorded, room for "
+                        + store.capacity);
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * @return The number of multivectors in the store.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return The number of coefficients of each multivector, i.e. the number of basis blades.
+     */
+    public static int bladeCount() {
+        return Blades.COUNT;
+    }
+
+    /**
+     * @param e The index of the multivector in the store.
+     * @param blade The basis blade index, see {@link Mvec.Basis}.
+     * @return The coefficient of the blade in the multivector {@code e}.
+     */
+    public double get(long e, int blade) {
+        return mapped.get(D, offset(e, blade));
+    }
+
+    /**
+     * @param e The index of the multivector in the store.
+     * @param blade The basis blade index, see {@link Mvec.Basis}.
+     * @param v The new coefficient of the blade in the multivector {@code e}.
+     */
+    public void set(long e, int blade, double v) {
+        mapped.set(D, offset(e, blade), v);
+    }
+
+    /**
+     * Copies a multivector of the store into {@code dst}.
+     * @param e The index of the multivector in the store.
+     * @param dst The multivector receiving the coefficients.
+     * @return {@code dst}.
+     */
+    public Mvec get(long e, Mvec dst) {
+        return MvecArray.wrap(mapped.asSlice(offset(e, 0), STRIDE)).get(0, dst);
+    }
+
+    /**
+     * Copies a multivector into the store.
+     * @param e The index of the multivector in the store.
+     * @param src The multivector to copy.
+     */
+    public void set(long e, Mvec src) {
+        MemorySegment.copy(src.coefficientView(), 0, mapped, offset(e, 0), STRIDE);
+    }
+
+    /**
+     * Appends a multivector, growing the file if needed.
+     * @param src The multivector to append.
+     * @return The index of the new multivector.
+     * @throws IOException if the file cannot grow.
+     */
+    public long append(Mvec src) throws IOException {
+        reserve(1);
+        MemorySegment.copy(src.coefficientView(), 0, mapped, HEADER_SIZE + size * STRIDE, STRIDE);
+        return commit(1);
+    }
+
+    /**
+     * Appends all the multivectors of an array, with one bulk copy.
+     * @param src The multivectors to append.
+     * @return The index of the first new multivector.
+     * @throws IOException if the file cannot grow.
+     */
+    public long append(MvecArray src) throws IOException {
+        reserve(src.size());
+        MemorySegment.copy(src.segment(), 0, mapped, HEADER_SIZE + size * STRIDE, src.size() * STRIDE);
+        return commit(src.size());
+    }
+
+    /**
+     * Returns a zero-copy view of a range of the store. Writes to a view of a
+     * writable store go to the file.
+     * @param from The index of the first multivector.
+     * @param count The number of multivectors.
+     * @return An array backed by the mapping, valid until the store is closed.
+     */
+    public MvecArray view(long from, int count) {
+        return MvecArray.wrap(segment(from, count));
+    }
+
+    /**
+     * @param from The index of the first multivector.
+     * @param count The number of multivectors.
+     * @return The mapped coefficients of the range, valid until the store is closed.
+     */
+    public MemorySegment segment(long from, long count) {
+        checkOpen();
+        Objects.checkFromIndexSize(from, count, size);
+        return mapped.asSlice(HEADER_SIZE + from * STRIDE, count * STRIDE);
+    }
+
+    /**
+     * Writes the modified pages of the mapping to the storage device.
+     */
+    public void force() {
+        checkOpen();
+        if (writable) mapped.force();
+    }
+
+    /**
+     * Unmaps the store, invalidating all its views, and trims the file to its size.
+     * @throws IOException if the file cannot be trimmed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            for (Arena arena : arenas) {
+                arena.close();
+            }
+            arenas.clear();
+            mapped = null;
+            if (writable) {
+                channel.truncate(HEADER_SIZE + size * STRIDE);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private long offset(long e, int blade) {
+        checkOpen();
+        Objects.checkIndex(e, size);
+        Objects.checkIndex(blade, COUNT);
+        return HEADER_SIZE + (e * COUNT + blade) * D.byteSize();
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("MvecStore is closed");
+    }
+
+    /** Maps the header and room for {@code elements} multivectors. */
+    private void map(long elements) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            mapped = channel.map(mode, 0, HEADER_SIZE + elements * STRIDE, arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+        arenas.add(arena);
+        capacity = elements;
+    }
+
+    private void reserve(long n) throws IOException {
+        checkOpen();
+        if (!writable) throw new UnsupportedOperationException("MvecStore is open read-only");
+        if (size + n <= capacity) return;
+        // doubling keeps the number of mappings logarithmic in the size
+        map(Math.max(size + n, Math.max(MIN_CAPACITY, 2 * capacity)));
+    }
+
+    private long commit(long n) {
+        long first = size;
+        size += n;
+        mapped.set(ValueLayout.JAVA_LONG, 24, size);
+        return first;
+    }
+
+    private void writeHeader() {
+        mapped.set(MAGIC_LAYOUT, 0, MAGIC);
+        mapped.set(ValueLayout.JAVA_INT, 8, VERSION);
+        mapped.set(ValueLayout.JAVA_INT, 12, COUNT);
+        mapped.set(ValueLayout.JAVA_INT, 16, LAYOUT_ELEMENTS);
+        mapped.set(ValueLayout.JAVA_INT, 20, BYTE_ORDER_MARK);
+        mapped.set(ValueLayout.JAVA_LONG, 24, size);
+        MemorySegment.copy(NAME, 0, mapped, ValueLayout.JAVA_BYTE, 32, NAME_SIZE);
+    }
+
+    /** @return The number of multivectors recorded in the header. */
+    private long readHeader(Path file) throws IOException {
+        if (mapped.get(MAGIC_LAYOUT, 0) != MAGIC) {
+            throw new IOException(file + " is not a multivector store");
+        }
+        if (mapped.get(ValueLayout.JAVA_INT, 20) != BYTE_ORDER_MARK) {
+            throw new IOException(file + " was written with another byte order");
+        }
+        int version = mapped.get(ValueLayout.JAVA_INT, 8);
+        if (version != VERSION) {
+            throw new IOException(file + " has format version " + version + ", expected " + VERSION);
+        }
+        byte[] bytes = new byte[NAME_SIZE];
+        MemorySegment.copy(mapped, ValueLayout.JAVA_BYTE, 32, bytes, 0, NAME_SIZE);
+        int length = 0;
+        while (length < NAME_SIZE && bytes[length] != 0) length++;
+        String name = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        int blades = mapped.get(ValueLayout.JAVA_INT, 12);
+        if (!Arrays.equals(bytes, NAME) || blades != COUNT) {
+            throw new IOException(file + " stores multivectors of algebra " + name + " with " + blades
+                    + " blades, expected " + ALGEBRA + " with " + COUNT);
+        }
+        int layout = mapped.get(ValueLayout.JAVA_INT, 16);
+        if (layout != LAYOUT_ELEMENTS) {
+            throw new IOException(file + " has unknown coefficient layout " + layout);
+        }
+        return mapped.get(ValueLayout.JAVA_LONG, 24);
+    }
+}
@@ -0,0 +1,117 @@
+package org.garamon.project_namespace;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Downcalls of the small {@link Mvec} accessors, linked as critical functions.
+ *
+ * <p>The accessors below never call back into Java and return in a few
+ * nanoseconds, so they are relinked from the jextract symbols with
+ * {@link Linker.Option#critical(boolean)}, which skips the thread state
+ * transition of a regular downcall. The handles are constants, so the JIT
+ * inlines them in hot loops.</p>
+ *
+ * <p>Run with {@code -Dgaramon.native.critical=false} to use the handles
+ * generated by jextract instead, e.g. to trace downcalls while debugging.</p>
+ */
+final class NativeCalls {
+    /** Whether the accessors are linked as critical functions. */
+    static final boolean CRITICAL = Boolean.parseBoolean(System.getProperty("garamon.native.critical", "true"));
+
+    private static final MethodHandle GET_COEFF = link(
+            Mvec_h.Mvec_get_coeff$address(), Mvec_h.Mvec_get_coeff$descriptor(), Mvec_h.Mvec_get_coeff$handle(),
+            MethodType.methodType(double.class, MemorySegment.class, int.class));
+    private static final MethodHandle SET_COEFF = link(
+            Mvec_h.Mvec_set_coeff$address(), Mvec_h.Mvec_set_coeff$descriptor(), Mvec_h.Mvec_set_coeff$handle(),
+            MethodType.methodType(void.class, MemorySegment.class, int.class, double.class));
+    private static final MethodHandle TO_SCALAR = link(
+            Mvec_h.Mvec_to_scalar$address(), Mvec_h.Mvec_to_scalar$descriptor(), Mvec_h.Mvec_to_scalar$handle(),
+            MethodType.methodType(double.class, MemorySegment.class));
+    private static final MethodHandle NORM = link(
+            Mvec_h.Mvec_norm$address(), Mvec_h.Mvec_norm$descriptor(), Mvec_h.Mvec_norm$handle(),
+            MethodType.methodType(double.class, MemorySegment.class));
+    private static final MethodHandle IS_EMPTY = link(
+            Mvec_h.Mvec_is_empty$address(), Mvec_h.Mvec_is_empty$descriptor(), Mvec_h.Mvec_is_empty$handle(),
+            MethodType.methodType(boolean.class, MemorySegment.class));
+    private static final MethodHandle HIGHEST_GRADE = link(
+            Mvec_h.Mvec_get_highest_grade$address(), Mvec_h.Mvec_get_highest_grade$descriptor(),
+            Mvec_h.Mvec_get_highest_grade$handle(),
+            MethodType.methodType(int.class, MemorySegment.class));
+    private static final MethodHandle COPY_GRADES = link(
+            Mvec_h.Mvec_copy_grades$address(), Mvec_h.Mvec_copy_grades$descriptor(), Mvec_h.Mvec_copy_grades$handle(),
+            MethodType.methodType(int.class, MemorySegment.class, MemorySegment.class, int.class));
+
+    private NativeCalls() {}
+
+    /**
+     * Links a function as critical, adapted to the Java types used by {@link Mvec}
+     * so that a header using wider integer types still links.
+     */
+    private static MethodHandle link(MemorySegment address, FunctionDescriptor descriptor, MethodHandle jextract,
+                                     MethodType type) {
+        MethodHandle handle = CRITICAL
+                ? Linker.nativeLinker().downcallHandle(address, descriptor, Linker.Option.critical(false))
+                : jextract;
+        return handle.asType(type);
+    }
+
+    static double getCoeff(MemorySegment mv, int blade) {
+        try {
+            return (double) GET_COEFF.invokeExact(mv, blade);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+
+    static void setCoeff(MemorySegment mv, int blade, double value) {
+        try {
+            SET_COEFF.invokeExact(mv, blade, value);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+
+    static double toScalar(MemorySegment mv) {
+        try {
+            return (double) TO_SCALAR.invokeExact(mv);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+
+    static double norm(MemorySegment mv) {
+        try {
+            return (double) NORM.invokeExact(mv);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+
+    static boolean isEmpty(MemorySegment mv) {
+        try {
+            return (boolean) IS_EMPTY.invokeExact(mv);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+
+    static int highestGrade(MemorySegment mv) {
+        try {
+            return (int) HIGHEST_GRADE.invokeExact(mv);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+
+    static int copyGrades(MemorySegment mv, MemorySegment out, int capacity) {
+        try {
+            return (int) COPY_GRADES.invokeExact(mv, out, capacity);
+        } catch (Throwable t) {
+            throw new AssertionError("should not reach here", t);
+        }
+    }
+}
@@ -1,41 +1,194 @@
 package org.garamon.project_namespace;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Locale;
 import java.util.Properties;
+import java.util.Set;
 
 public final class NativeLoader {
-    private static volatile boolean loaded;
+
+    /**
+     * Timings of the library load, in nanoseconds.
+     * @param library The file given to {@code System.load}.
+     * @param cached True if the library was found in the cache and not extracted again.
+     * @param extractNanos Time to read the library from the jar and extract or find it on disk.
+     * @param loadNanos Time spent in {@code System.load}.
+     * @param linkNanos Time to link and run the first downcalls.
+     */
+    public record LoadStats(Path library, boolean cached, long extractNanos, long loadNanos, long linkNanos) {
+        /** @return The whole load time, in nanoseconds. */
+        public long totalNanos() {
+            return extractNanos + loadNanos + linkNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s loaded in %.3f ms (extract %.3f ms%s, System.load %.3f ms, link %.3f ms)",
+                    library.getFileName(), totalNanos() / 1e6, extractNanos / 1e6, cached ? " cached" : "",
+                    loadNanos / 1e6, linkNanos / 1e6);
+        }
+    }
+
+    // the JVM runs this initialization once, later calls read a constant without locking
+    private static final class Holder {
+        static final LoadStats STATS = doLoad();
+    }
+
+    private record Extracted(Path path, boolean cached) {}
 
     private NativeLoader() {}
 
-    public static synchronized void load() {
-        if (loaded) return;
+    /**
+     * Loads the native library of the algebra, once. {@link Mvec} calls it from
+     * its static initializer, so an explicit call is only needed to control
+     * when the cost is paid.
+     */
+    public static void load() {
+        stats();
+    }
 
+    /**
+     * Loads the native library if needed.
+     * @return The timings of the load.
+     */
+    public static LoadStats stats() {
         try {
+            return Holder.STATS;
+        } catch (ExceptionInInitializerError | NoClassDefFoundError e) {
+            throw new RuntimeException("Failed to load native library", e);
+        }
+    }
+
+    private static LoadStats doLoad() {
+        try {
+            long t0 = System.nanoTime();
             String baseName = readBaseNameFromProps("native-lib.properties", "generic");
             String classifier = System.getProperty("native.classifier", detectClassifier());
             String mappedName = System.mapLibraryName(baseName);
             String resourcePath = "/natives/" + classifier + "/" + mappedName;
 
+            byte[] bytes;
             try (InputStream in = NativeLoader.class.getResourceAsStream(resourcePath)) {
                 if (in == null) {
                     throw new RuntimeException("Native resource not found: " + resourcePath);
                 }
-                Path tmp = Files.createTempFile("nlib-", "-" + mappedName);
-                tmp.toFile().deleteOnExit();
-                Files.copy(in, tmp, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                System.load(tmp.toAbsolutePath().toString());
+                bytes = in.readAllBytes();
             }
+            Extracted lib = extract(bytes, mappedName);
+            long t1 = System.nanoTime();
+            System.load(lib.path().toAbsolutePath().toString());
+            long t2 = System.nanoTime();
+            // first downcalls: symbol lookup and handle linkage
+            Mvec_h.Mvec_delete(Mvec_h.Mvec_new_empty());
+            long t3 = System.nanoTime();
 
-            loaded = true;
+            LoadStats stats = new LoadStats(lib.path(), lib.cached(), t1 - t0, t2 - t1, t3 - t2);
+            System.getLogger(NativeLoader.class.getName()).log(System.Logger.Level.DEBUG, stats::toString);
+            MvecMetrics.loaded(stats);
+            return stats;
         } catch (Exception e) {
             throw new RuntimeException("Failed to load native library", e);
         }
     }
 
+    /**
+     * Returns a file holding the library. Extracted libraries are cached under
+     * their SHA-256, so later JVMs load the cached file, once its content is
+     * checked against that digest, without copying and concurrent JVMs map the
+     * same file. The cache directory is set with
+     * {@code -Dgaramon.native.cacheDir=<dir>} and disabled with
+     * {@code -Dgaramon.native.cache=false}, in which case, or if the cache
+     * is not writable, the library is copied to a temporary file.
+     */
+    private static Extracted extract(byte[] bytes, String mappedName) throws IOException {
+        if (Boolean.parseBoolean(System.getProperty("garamon.native.cache", "true"))) {
+            Path cacheDir = Path.of(System.getProperty("garamon.native.cacheDir",
+                    Path.of(System.getProperty("java.io.tmpdir"),
+                            "garamon-native-" + System.getProperty("user.name", "user")).toString()));
+            try {
+                return extractToCache(cacheDir, bytes, mappedName);
+            } catch (IOException e) {
+                // unusable cache, fall back to a private copy
+                System.getLogger(NativeLoader.class.getName()).log(System.Logger.Level.DEBUG,
+                        "Native library cache not used: " + e.getMessage());
+            }
+        }
+        Path tmp = Files.createTempFile("nlib-", "-" + mappedName);
+        tmp.toFile().deleteOnExit();
+        Files.write(tmp, bytes);
+        return new Extracted(tmp, false);
+    }
+
+    private static Extracted extractToCache(Path cacheDir, byte[] bytes, String mappedName) throws IOException {
+        String digest = sha256(bytes);
+        Path target = cacheDir.resolve(digest + "-" + mappedName);
+        createPrivateDirectory(cacheDir);
+        if (isCached(target, bytes.length, digest)) {
+            return new Extracted(target, true);
+        }
+        // write aside then rename, so no JVM ever loads a partially written file
+        Path tmp = Files.createTempFile(cacheDir, ".nlib-", ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            // another JVM may have won the race, or the target is mapped and locked (Windows)
+            if (!isCached(target, bytes.length, digest)) throw e;
+        }
+        return new Extracted(target, false);
+    }
+
+    /** @return True if {@code target} holds the library, checked against its SHA-256 and not only its size. */
+    private static boolean isCached(Path target, long size, String digest) throws IOException {
+        return Files.isRegularFile(target) && Files.size(target) == size
+                && sha256(Files.readAllBytes(target)).equals(digest);
+    }
+
+    /**
+     * Creates the cache directory accessible by its owner only, and refuses a
+     * directory owned by another user or writable by others: the libraries in
+     * it are loaded into this process. The default directory has a predictable
+     * name in the shared temporary directory.
+     */
+    private static void createPrivateDirectory(Path dir) throws IOException {
+        if (!dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(dir);
+            return;
+        }
+        Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        PosixFileAttributes attributes = Files.readAttributes(dir, PosixFileAttributes.class);
+        UserPrincipal user = dir.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!attributes.owner().equals(user)) {
+            throw new IOException("Native library cache " + dir + " is owned by " + attributes.owner());
+        }
+        Set<PosixFilePermission> permissions = attributes.permissions();
+        if (permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+            throw new IOException("Native library cache " + dir + " is writable by other users");
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static String readBaseNameFromProps(String res, String fallback) {
         try (InputStream in = NativeLoader.class.getResourceAsStream("/" + res)) {
             if (in == null) return fallback;
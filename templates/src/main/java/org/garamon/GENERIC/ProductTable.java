@@ -0,0 +1,127 @@
+package org.garamon.project_namespace;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+
+/**
+ * Multiplication table of a bilinear product over the basis blades.
+ *
+ * <p>The table is sampled from the native implementation, so it follows the
+ * metric and sign conventions of the Garamon library exactly. Rows are built on
+ * first use: row {@code i} costs {@link Blades#COUNT} native products.</p>
+ */
+final class ProductTable {
+    static final ProductTable MUL = new ProductTable(Mvec::mul, (ga, gb) -> true);
+    static final ProductTable OUTER = new ProductTable(Mvec::outer, (ga, gb) -> ga + gb <= Blades.DIMENSION);
+    static final ProductTable INNER = new ProductTable(Mvec::inner, (ga, gb) -> true);
+    static final ProductTable LEFT_CONTRACTION = new ProductTable(Mvec::leftContraction, (ga, gb) -> ga <= gb);
+    static final ProductTable RIGHT_CONTRACTION = new ProductTable(Mvec::rightContraction, (ga, gb) -> ga >= gb);
+
+    /**
+     * Tells whether blades of two grades may have a non-zero product. Only
+     * metric-independent rules are used, so true does not guarantee it.
+     */
+    @FunctionalInterface
+    interface GradeRule {
+        boolean mayInteract(int gradeA, int gradeB);
+    }
+
+    /**
+     * Products of the blade {@code i} with every blade {@code j}: the terms of
+     * {@code e_i op e_j} are {@code coef[t] * e_blade[t]} for {@code t} in
+     * {@code [start[j], start[j + 1])}.
+     */
+    static final class Row {
+        final int[] start;
+        final int[] blade;
+        final double[] coef;
+
+        Row(int[] start, int[] blade, double[] coef) {
+            this.start = start;
+            this.blade = blade;
+            this.coef = coef;
+        }
+    }
+
+    private final BinaryOperator<Mvec> op;
+    private final GradeRule gradeRule;
+    private final AtomicReferenceArray<Row> rows = new AtomicReferenceArray<>(Blades.COUNT);
+
+    private ProductTable(BinaryOperator<Mvec> op, GradeRule gradeRule) {
+        this.op = op;
+        this.gradeRule = gradeRule;
+    }
+
+    /** @return false if no blade of grade {@code gradeA} has a non-zero product with a blade of grade {@code gradeB}. */
+    boolean mayInteract(int gradeA, int gradeB) {
+        return gradeRule.mayInteract(gradeA, gradeB);
+    }
+
+    Row row(int i) {
+        Row row = rows.get(i);
+        if (row == null) {
+            rows.compareAndSet(i, null, computeRow(i));
+            row = rows.get(i);
+        }
+        return row;
+    }
+
+    /**
+     * Accumulates {@code a op b} into {@code r}, all three being dense coefficient
+     * arrays indexed by blade. Zero coefficients of {@code a} and {@code b} are skipped.
+     */
+    void accumulate(double[] a, double[] b, double[] r) {
+        for (int i = 0; i < Blades.COUNT; i++) {
+            double ai = a[i];
+            if (ai == 0.0) continue;
+            Row row = row(i);
+            for (int j = 0; j < Blades.COUNT; j++) {
+                double aibj = ai * b[j];
+                if (aibj == 0.0) continue;
+                for (int t = row.start[j]; t < row.start[j + 1]; t++) {
+                    r[row.blade[t]] += row.coef[t] * aibj;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The dense coefficient array of {@code a op b}, see {@link #accumulate}.
+     */
+    double[] apply(double[] a, double[] b) {
+        double[] r = new double[Blades.COUNT];
+        accumulate(a, b, r);
+        return r;
+    }
+
+    private Row computeRow(int i) {
+        int n = Blades.COUNT;
+        int[] start = new int[n + 1];
+        int[] blade = new int[n];
+        double[] coef = new double[n];
+        int size = 0;
+        try (Mvec ei = new Mvec(i, 1.0)) {
+            for (int j = 0; j < n; j++) {
+                start[j] = size;
+                try (Mvec ej = new Mvec(j, 1.0); Mvec p = op.apply(ei, ej)) {
+                    for (int g : p.grades()) {
+                        for (int k : Blades.ofGrade(g)) {
+                            double c = p.get(k);
+                            if (c == 0.0) continue;
+                            if (size == blade.length) {
+                                blade = Arrays.copyOf(blade, size * 2);
+                                coef = Arrays.copyOf(coef, size * 2);
+                            }
+                            blade[size] = k;
+                            coef[size] = c;
+                            size++;
+                        }
+                    }
+                }
+            }
+        }
+        start[n] = size;
+        return new Row(start, Arrays.copyOf(blade, size), Arrays.copyOf(coef, size));
+    }
+}
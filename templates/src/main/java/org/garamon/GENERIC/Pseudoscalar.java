@@ -0,0 +1,7 @@
+package org.garamon.project_namespace;
+
+/**
+ * Pseudoscalar of the algebra, a multivector of the highest grade with a
+ * single component. Generated like {@link Vector}.
+ */
+//@garamon:pseudoscalar-type
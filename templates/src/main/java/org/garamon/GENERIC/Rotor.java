@@ -0,0 +1,9 @@
+package org.garamon.project_namespace;
+
+/**
+ * Even multivector of the algebra: the scalar, bivector, quadrivector...
+ * components, as produced by the geometric product of two vectors.
+ * {@link #apply(Vector)} rotates a vector by a unit rotor. Generated like
+ * {@link Vector}.
+ */
+//@garamon:rotor-type
@@ -0,0 +1,453 @@
+package org.garamon.project_namespace;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Pure-Java multivector storing only its non-zero coefficients.
+ *
+ * <p>Meant for high-dimensional algebras, where most multivectors only touch a
+ * few grades: blade indices and coefficients are kept in parallel primitive
+ * arrays, grouped by grade and in increasing blade order within a grade.
+ * Products only visit the pairs of grades present in both operands that may
+ * interact, and use the product tables sampled from the native library, so
+ * they follow its metric exactly. Blades are indexed like {@link Mvec.Basis}.</p>
+ */
+public final class SparseMvec implements Multivector<SparseMvec> {
+    private static final int COUNT = Blades.COUNT;
+    private static final int DIMENSION = Blades.DIMENSION;
+
+    // per-thread buffers of the conversions and products
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static final class Scratch {
+        final int[] blades = new int[COUNT];
+        final double[] values = new double[COUNT];
+        final double[] acc = new double[COUNT];
+        final boolean[] touched = new boolean[COUNT];
+    }
+
+    private int[] blades;
+    private double[] values;
+    private int size;
+    // the entries of grade g are in [gradeStart[g], gradeStart[g + 1])
+    private final int[] gradeStart = new int[DIMENSION + 2];
+
+    private SparseMvec(int[] blades, double[] values, int size) {
+        this.blades = blades;
+        this.values = values;
+        this.size = size;
+        reindex();
+    }
+
+    /**
+     * Default constructor, generates an empty multivector equivalent to the scalar 0.
+     */
+    public SparseMvec() {
+        this(new int[0], new double[0], 0);
+    }
+
+    /**
+     * Constructor of SparseMvec from a scalar.
+     * @param v The scalar value.
+     */
+    public SparseMvec(double v) {
+        this(Mvec.Basis.SCALAR, v);
+    }
+
+    /**
+     * Constructor of SparseMvec from a basis vector and a value.
+     * @param basisIndex The basis vector index related to the query.
+     * @param value The coefficient of the multivector corresponding to the "basisIndex" component.
+     */
+    public SparseMvec(int basisIndex, double value) {
+        this(new int[0], new double[0], 0);
+        set(basisIndex, value);
+    }
+
+    /**
+     * @param mv A native multivector.
+     * @return A copy of {@code mv}. Only the grades present are read, with one
+     * downcall per blade of these grades.
+     */
+    public static SparseMvec from(Mvec mv) {
+        Scratch s = SCRATCH.get();
+        int n = mv.copyNonZeroTo(s.blades, s.values);
+        return new SparseMvec(Arrays.copyOf(s.blades, n), Arrays.copyOf(s.values, n), n);
+    }
+
+    /**
+     * @return A native copy of this multivector, written with one downcall per
+     * non-zero coefficient.
+     */
+    public Mvec toMvec() {
+        Mvec mv = new Mvec();
+        mv.setCoefficients(blades, values, size);
+        return mv;
+    }
+
+    /**
+     * @return The number of non-zero coefficients.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param t The position of a coefficient, in {@code [0, size())}.
+     * @return The blade index of the {@code t}-th non-zero coefficient.
+     */
+    public int blade(int t) {
+        return blades[Objects.checkIndex(t, size)];
+    }
+
+    /**
+     * @param t The position of a coefficient, in {@code [0, size())}.
+     * @return The value of the {@code t}-th non-zero coefficient.
+     */
+    public double value(int t) {
+        return values[Objects.checkIndex(t, size)];
+    }
+
+    /**
+     * Defines the addition between two multivectors.
+     * @param b The second operand.
+     * @return The result of {@code this + b}.
+     */
+    @Override
+    public SparseMvec add(SparseMvec b) {
+        int[] rb = new int[size + b.size];
+        double[] rv = new double[size + b.size];
+        int i = 0, j = 0, n = 0;
+        while (i < size || j < b.size) {
+            int ka = i < size ? key(blades[i]) : Integer.MAX_VALUE;
+            int kb = j < b.size ? key(b.blades[j]) : Integer.MAX_VALUE;
+            double v;
+            int blade;
+            if (ka == kb) {
+                blade = blades[i];
+                v = values[i++] + b.values[j++];
+            } else if (ka < kb) {
+                blade = blades[i];
+                v = values[i++];
+            } else {
+                blade = b.blades[j];
+                v = b.values[j++];
+            }
+            if (v == 0.0) continue;
+            rb[n] = blade;
+            rv[n++] = v;
+        }
+        return new SparseMvec(rb, rv, n);
+    }
+
+    /**
+     * Defines the addition between a multivector and a scalar.
+     * @param s The second operand (scalar).
+     * @return The result of {@code this + s}.
+     */
+    @Override
+    public SparseMvec add(double s) {
+        SparseMvec r = copy();
+        r.set(Mvec.Basis.SCALAR, r.get(Mvec.Basis.SCALAR) + s);
+        return r;
+    }
+
+    /**
+     * Defines the geometric product between two multivectors.
+     * @param b A multivector.
+     * @return The geometric product {@code this * b}.
+     */
+    @Override
+    public SparseMvec mul(SparseMvec b) {
+        return product(ProductTable.MUL, b);
+    }
+
+    /**
+     * Defines the multiplication of a multivector by a scalar.
+     * @param s A scalar.
+     * @return The result of {@code this * s}.
+     */
+    @Override
+    public SparseMvec mul(double s) {
+        if (s == 0.0) return new SparseMvec();
+        double[] rv = new double[size];
+        for (int t = 0; t < size; t++) rv[t] = values[t] * s;
+        return new SparseMvec(Arrays.copyOf(blades, size), rv, size);
+    }
+
+    /**
+     * Defines the multiplication of a scalar by a multivector.
+     * @param s A scalar.
+     * @return The result of {@code s * this}.
+     */
+    @Override
+    public SparseMvec rmul(double s) {
+        return mul(s);
+    }
+
+    /**
+     * Defines the outer product between two multivectors.
+     * @param b A multivector.
+     * @return The outer product {@code this ^ b}.
+     */
+    @Override
+    public SparseMvec outer(SparseMvec b) {
+        return product(ProductTable.OUTER, b);
+    }
+
+    /**
+     * Defines the inner product between two multivectors.
+     * @param b A multivector.
+     * @return The inner product {@code this . b}.
+     */
+    @Override
+    public SparseMvec inner(SparseMvec b) {
+        return product(ProductTable.INNER, b);
+    }
+
+    /**
+     * Defines the left contraction between two multivectors.
+     * @param b A multivector.
+     * @return The left contraction {@code this < b}.
+     */
+    @Override
+    public SparseMvec leftContraction(SparseMvec b) {
+        return product(ProductTable.LEFT_CONTRACTION, b);
+    }
+
+    /**
+     * Defines the right contraction between two multivectors.
+     * @param b A multivector.
+     * @return The right contraction {@code this > b}.
+     */
+    @Override
+    public SparseMvec rightContraction(SparseMvec b) {
+        return product(ProductTable.RIGHT_CONTRACTION, b);
+    }
+
+    /**
+     * The L2-norm of the multivector, {@code sqrt(abs(<reverse(mv) * mv>_0))}.
+     * Only blades of the same grade contribute to the scalar part.
+     * @return The L2-norm of the multivector (as a double).
+     */
+    @Override
+    public double norm() {
+        double q = 0.0;
+        for (int g = 0; g <= DIMENSION; g++) {
+            for (int i = gradeStart[g]; i < gradeStart[g + 1]; i++) {
+                ProductTable.Row row = ProductTable.MUL.row(blades[i]);
+                double ai = Blades.reverseSign(blades[i]) * values[i];
+                for (int j = gradeStart[g]; j < gradeStart[g + 1]; j++) {
+                    int bj = blades[j];
+                    for (int t = row.start[bj]; t < row.start[bj + 1]; t++) {
+                        if (row.blade[t] == Mvec.Basis.SCALAR) q += row.coef[t] * ai * values[j];
+                    }
+                }
+            }
+        }
+        return Math.sqrt(Math.abs(q));
+    }
+
+    /**
+     * @return The scalar part of the multivector.
+     */
+    @Override
+    public double toScalar() {
+        return get(Mvec.Basis.SCALAR);
+    }
+
+    /**
+     * For example, {@code double a = mv.get(Mvec.Basis.E12);}
+     * @param i The basis blade index, see {@link Mvec.Basis}.
+     * @return The coefficient of the multivector corresponding to the "i" component.
+     */
+    @Override
+    public double get(int i) {
+        int t = find(i);
+        return t >= 0 ? values[t] : 0.0;
+    }
+
+    /**
+     * Sets a coefficient, a zero value removes the blade from the storage.
+     * @param i The basis vector index related to the query.
+     * @param v The coefficient of the multivector corresponding to the "i" component.
+     */
+    @Override
+    public void set(int i, double v) {
+        Objects.checkIndex(i, COUNT);
+        int t = find(i);
+        if (t >= 0) {
+            if (v != 0.0) {
+                values[t] = v;
+                return;
+            }
+            System.arraycopy(blades, t + 1, blades, t, size - t - 1);
+            System.arraycopy(values, t + 1, values, t, size - t - 1);
+            size--;
+        } else {
+            if (v == 0.0) return;
+            t = -t - 1;
+            if (size == blades.length) {
+                int capacity = Math.min(COUNT, Math.max(4, 2 * size));
+                blades = Arrays.copyOf(blades, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            System.arraycopy(blades, t, blades, t + 1, size - t);
+            System.arraycopy(values, t, values, t + 1, size - t);
+            blades[t] = i;
+            values[t] = v;
+            size++;
+        }
+        reindex();
+    }
+
+    /**
+     * Checks if a multivector is empty, i.e., corresponds to 0.
+     * @return True if the multivector is empty, else False.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Completely erases the content of a multivector.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        Arrays.fill(gradeStart, 0);
+    }
+
+    /**
+     * Partialy erases the content of a multivector.
+     * If {@code grade < 0}, erases the entire multivector; otherwise,
+     * only erases the part of grade "grade".
+     */
+    public void clear(int grade) {
+        if (grade < 0) {
+            clear();
+            return;
+        }
+        if (grade > DIMENSION) return;
+        int from = gradeStart[grade], to = gradeStart[grade + 1];
+        System.arraycopy(blades, to, blades, from, size - to);
+        System.arraycopy(values, to, values, from, size - to);
+        size -= to - from;
+        reindex();
+    }
+
+    /**
+     * Returns the grades present in the multivector, in increasing order.
+     * @return A new array holding the grades.
+     */
+    public int[] grades() {
+        int[] res = new int[DIMENSION + 1];
+        int n = 0;
+        for (int g = 0; g <= DIMENSION; g++) {
+            if (gradeStart[g] < gradeStart[g + 1]) res[n++] = g;
+        }
+        return Arrays.copyOf(res, n);
+    }
+
+    /**
+     * Returns the (highest) grade of the multivector.
+     * @return The highest grade of the multivector.
+     */
+    public int highestGrade() {
+        for (int g = DIMENSION; g > 0; g--) {
+            if (gradeStart[g] < gradeStart[g + 1]) return g;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SparseMvec other
+                && Arrays.equals(blades, 0, size, other.blades, 0, other.size)
+                && Arrays.equals(values, 0, size, other.values, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int t = 0; t < size; t++) h = 31 * (31 * h + blades[t]) + Double.hashCode(values[t]);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SparseMvec{");
+        for (int t = 0; t < size; t++) {
+            if (t > 0) sb.append(", ");
+            sb.append(blades[t]).append('=').append(values[t]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private SparseMvec copy() {
+        return new SparseMvec(Arrays.copyOf(blades, size), Arrays.copyOf(values, size), size);
+    }
+
+    /** Sorting key of a blade: grade first, then index. */
+    private static int key(int blade) {
+        return Blades.grade(blade) * COUNT + blade;
+    }
+
+    /** @return The position of the blade, or {@code -(insertion point) - 1}. */
+    private int find(int blade) {
+        int g = Blades.grade(blade);
+        return Arrays.binarySearch(blades, gradeStart[g], gradeStart[g + 1], blade);
+    }
+
+    private void reindex() {
+        Arrays.fill(gradeStart, 0);
+        for (int t = 0; t < size; t++) gradeStart[Blades.grade(blades[t]) + 1]++;
+        for (int g = 0; g <= DIMENSION; g++) gradeStart[g + 1] += gradeStart[g];
+    }
+
+    private SparseMvec product(ProductTable table, SparseMvec b) {
+        Scratch s = SCRATCH.get();
+        int[] touchedList = s.blades;
+        int m = 0;
+        for (int ga = 0; ga <= DIMENSION; ga++) {
+            if (gradeStart[ga] == gradeStart[ga + 1]) continue;
+            for (int gb = 0; gb <= DIMENSION; gb++) {
+                if (b.gradeStart[gb] == b.gradeStart[gb + 1] || !table.mayInteract(ga, gb)) continue;
+                for (int i = gradeStart[ga]; i < gradeStart[ga + 1]; i++) {
+                    ProductTable.Row row = table.row(blades[i]);
+                    double ai = values[i];
+                    for (int j = b.gradeStart[gb]; j < b.gradeStart[gb + 1]; j++) {
+                        int bj = b.blades[j];
+                        double aibj = ai * b.values[j];
+                        for (int t = row.start[bj]; t < row.start[bj + 1]; t++) {
+                            int k = row.blade[t];
+                            if (!s.touched[k]) {
+                                s.touched[k] = true;
+                                touchedList[m++] = key(k);
+                            }
+                            s.acc[k] += row.coef[t] * aibj;
+                        }
+                    }
+                }
+            }
+        }
+
+        // gather the touched blades in storage order, resetting the scratch
+        Arrays.sort(touchedList, 0, m);
+        int[] rb = new int[m];
+        double[] rv = new double[m];
+        int n = 0;
+        for (int t = 0; t < m; t++) {
+            int k = touchedList[t] % COUNT;
+            double v = s.acc[k];
+            s.acc[k] = 0.0;
+            s.touched[k] = false;
+            if (v == 0.0) continue;
+            rb[n] = k;
+            rv[n++] = v;
+        }
+        return new SparseMvec(rb, rv, n);
+    }
+}
@@ -0,0 +1,25 @@
+package org.garamon.project_namespace;
+
+/**
+ * Vector of the algebra, a multivector of grade 1 stored as one {@code double}
+ * component per basis vector, named like the {@code Mvec.eXX()} factories.
+ *
+ * <p>Like the {@link JavaMvec} kernels, this record is generated from the
+ * native library when the algebra is created. Its products with the other
+ * grade-specialized types ({@link Bivector}, {@link Rotor},
+ * {@link Pseudoscalar}) are straight-line code, typed as the smallest of them
+ * holding the result: {@code mul(Vector)} is a {@link Rotor},
+ * {@code outer(Vector)} a {@link Bivector}, {@code inner(Vector)} a
+ * {@code double}. A result of mixed grades is a {@link JavaMvec}. The
+ * result types follow from the grades alone, whatever the metric, and the
+ * products that vanish by grades, like {@code outer(Pseudoscalar)}, are not
+ * generated: the methods only depend on the dimension of the algebra. There
+ * is no native call nor dispatch on grades, so the JIT can inline them and
+ * keep the values in registers.</p>
+ *
+ * <p>{@code from(Mvec)} and {@code toMvec()} convert from and to the general
+ * multivectors. Above 64 blades, these types are classes storing their
+ * components in an array, read with {@code get(int)}, and their products go
+ * through the {@link ProductTable}, with the same methods and types.</p>
+ */
+//@garamon:vector-type
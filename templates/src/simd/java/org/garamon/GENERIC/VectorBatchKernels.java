@@ -0,0 +1,73 @@
+package org.garamon.project_namespace;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD versions of the {@link BatchKernels} loops, one multivector per lane.
+ *
+ * <p>Each method processes the largest multiple of the vector length and
+ * returns the number of elements done, the caller finishing the tail. This
+ * class is only loaded when {@code jdk.incubator.vector} is available.</p>
+ */
+final class VectorBatchKernels {
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+    private static final ByteOrder O = ByteOrder.nativeOrder();
+    private static final long BYTES = Double.BYTES;
+
+    private VectorBatchKernels() {}
+
+    static int lanes() {
+        return S.length();
+    }
+
+    static int fma(MemorySegment out, long ro, double c, MemorySegment a, long ao, MemorySegment b, long bo, int n) {
+        int bound = S.loopBound(n);
+        for (int e = 0; e < bound; e += S.length()) {
+            long r = (ro + e) * BYTES;
+            DoubleVector va = DoubleVector.fromMemorySegment(S, a, (ao + e) * BYTES, O);
+            DoubleVector vb = DoubleVector.fromMemorySegment(S, b, (bo + e) * BYTES, O);
+            DoubleVector vr = DoubleVector.fromMemorySegment(S, out, r, O);
+            va.mul(c).fma(vb, vr).intoMemorySegment(out, r, O);
+        }
+        return bound;
+    }
+
+    static int axpy(MemorySegment out, long ro, double w, MemorySegment x, long xo, int n) {
+        int bound = S.loopBound(n);
+        DoubleVector vw = DoubleVector.broadcast(S, w);
+        for (int e = 0; e < bound; e += S.length()) {
+            long r = (ro + e) * BYTES;
+            DoubleVector vx = DoubleVector.fromMemorySegment(S, x, (xo + e) * BYTES, O);
+            DoubleVector vr = DoubleVector.fromMemorySegment(S, out, r, O);
+            vx.fma(vw, vr).intoMemorySegment(out, r, O);
+        }
+        return bound;
+    }
+
+    static long add(MemorySegment out, MemorySegment a, MemorySegment b, long n) {
+        long bound = n - n % S.length();
+        for (long e = 0; e < bound; e += S.length()) {
+            long off = e * BYTES;
+            DoubleVector va = DoubleVector.fromMemorySegment(S, a, off, O);
+            DoubleVector vb = DoubleVector.fromMemorySegment(S, b, off, O);
+            va.add(vb).intoMemorySegment(out, off, O);
+        }
+        return bound;
+    }
+
+    static int sqrtAbs(double[] out, MemorySegment q, int n) {
+        int bound = S.loopBound(n);
+        for (int e = 0; e < bound; e += S.length()) {
+            DoubleVector.fromMemorySegment(S, q, e * BYTES, O)
+                    .lanewise(VectorOperators.ABS)
+                    .lanewise(VectorOperators.SQRT)
+                    .intoArray(out, e);
+        }
+        return bound;
+    }
+}
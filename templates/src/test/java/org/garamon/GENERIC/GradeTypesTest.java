@@ -0,0 +1,99 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The generated methods only depend on the dimension, not on the metric. Like
+ * {@link MvecFixtures}, these tests need at least two basis vectors, so that
+ * {@code Vector.mul(Vector)} is a {@link Rotor}.
+ */
+@DisplayName("Grade-specialized Types Test")
+public class GradeTypesTest {
+
+  private static final int E1 = MvecFixtures.E1;
+  private static final int E2 = MvecFixtures.E2;
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  /** @return The product as a JavaMvec, its type depends on the algebra. */
+  private static JavaMvec java(Object product) {
+    return switch (product) {
+      case JavaMvec mv -> mv;
+      case Vector mv -> mv.toJavaMvec();
+      case Bivector mv -> mv.toJavaMvec();
+      case Rotor mv -> mv.toJavaMvec();
+      case Pseudoscalar mv -> mv.toJavaMvec();
+      default -> throw new AssertionError("Unexpected product: " + product);
+    };
+  }
+
+  private static void assertSame(Mvec expected, Object product) {
+    MvecFixtures.assertSameCoefficients(expected, java(product));
+    expected.close();
+  }
+
+  @Test
+  @DisplayName("Test conversions keep the blades of the grade")
+  void testConversions() {
+    try (Mvec mv = MvecFixtures.full(0.5)) {
+      Vector v = Vector.from(mv);
+      assertEquals(mv.get(E1), v.toJavaMvec().get(E1));
+      assertEquals(v, Vector.from(v.toJavaMvec()));
+      try (Mvec back = v.toMvec()) {
+        assertEquals(v, Vector.from(back));
+        assertEquals(0.0, back.get(Mvec.Basis.SCALAR));
+      }
+      Rotor r = Rotor.from(mv);
+      assertEquals(mv.toScalar(), r.scalar());
+      assertEquals(r, Rotor.from(JavaMvec.from(mv)));
+      assertEquals(Vector.ZERO, Vector.from(new Mvec()));
+    }
+  }
+
+  @Test
+  @DisplayName("Test specialized products match the native ones")
+  void testProducts() {
+    try (Mvec a = MvecFixtures.full(0.1); Mvec b = MvecFixtures.full(0.7)) {
+      Vector u = Vector.from(a), v = Vector.from(b);
+      Bivector w = Bivector.from(b);
+      Rotor r = Rotor.from(a), s = Rotor.from(b);
+      try (Mvec mu = u.toMvec(); Mvec mv = v.toMvec(); Mvec mw = w.toMvec(); Mvec mr = r.toMvec();
+           Mvec ms = s.toMvec()) {
+        assertSame(mu.mul(mv), u.mul(v));
+        assertSame(mu.outer(mv), u.outer(v));
+        assertEquals(mu.inner(mv).toScalar(), u.inner(v), 1e-9);
+        assertSame(mu.mul(mw), u.mul(w));
+        assertSame(mu.leftContraction(mw), u.leftContraction(w));
+        assertSame(mr.mul(ms), r.mul(s));
+        assertSame(mr.mul(mu), r.mul(u));
+        assertSame(mr.outer(mw), r.outer(w));
+        assertEquals(mr.norm(), r.norm(), 1e-9);
+        assertSame(mr.add(ms), r.add(s));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test rotation of a vector by a rotor")
+  void testApply() {
+    Vector x = Vector.from(new JavaMvec(E1, 1.0));
+    Vector y = Vector.from(new JavaMvec(E2, 1.0));
+    Vector v = Vector.from(new JavaMvec(E1, 3.0));
+    Vector d = x.add(y);
+    // twice the angle from x to (x + y) / sqrt(2): a quarter turn from x to y
+    Rotor r = d.mul(1.0 / d.norm()).mul(x);
+    Vector rotated = r.apply(v);
+    try (Mvec mr = r.toMvec(); Mvec mv = v.toMvec(); Mvec rev = r.reverse().toMvec()) {
+      assertSame(mr.mul(mv).mul(rev), rotated);
+    }
+    assertEquals(v.norm(), rotated.norm(), 1e-9);
+    assertEquals(3.0, Math.abs(rotated.toJavaMvec().get(E2)), 1e-9);
+  }
+}
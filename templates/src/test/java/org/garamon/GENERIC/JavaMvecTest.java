@@ -0,0 +1,52 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JavaMvec Backend Test")
+public class JavaMvecTest {
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  private static void assertSameProduct(BinaryOperator<Mvec> nativeOp, BinaryOperator<JavaMvec> javaOp) {
+    Mvec expected = nativeOp.apply(MvecFixtures.sample(new Mvec(), 1.0), MvecFixtures.sample(new Mvec(), 3.0));
+    JavaMvec actual = javaOp.apply(MvecFixtures.sample(new JavaMvec(), 1.0), MvecFixtures.sample(new JavaMvec(), 3.0));
+    MvecFixtures.assertSameCoefficients(expected, actual);
+    expected.close();
+  }
+
+  @Test
+  @DisplayName("Test JavaMvec products match the native backend")
+  void testProducts() {
+    assertSameProduct(Mvec::add, JavaMvec::add);
+    assertSameProduct(Mvec::mul, JavaMvec::mul);
+    assertSameProduct(Mvec::outer, JavaMvec::outer);
+    assertSameProduct(Mvec::inner, JavaMvec::inner);
+    assertSameProduct(Mvec::leftContraction, JavaMvec::leftContraction);
+    assertSameProduct(Mvec::rightContraction, JavaMvec::rightContraction);
+
+    Mvec mv = MvecFixtures.sample(new Mvec(), 2.0);
+    assertEquals(mv.norm(), MvecFixtures.sample(new JavaMvec(), 2.0).norm(), 1e-9);
+    mv.close();
+  }
+
+  @Test
+  @DisplayName("Test conversions between backends")
+  void testConversions() {
+    JavaMvec jmv = MvecFixtures.sample(new JavaMvec(), 1.5);
+    try (Mvec mv = jmv.toMvec()) {
+      assertEquals(jmv, JavaMvec.from(mv));
+    }
+    assertTrue(new JavaMvec().isEmpty());
+    jmv.clear();
+    assertTrue(jmv.isEmpty());
+  }
+}
@@ -0,0 +1,112 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MvecArray Operations Test")
+public class MvecArrayTest {
+
+  private static final int E1 = MvecFixtures.E1;
+  private static final int E2 = MvecFixtures.E2;
+  // large enough for the bulk operators to split the array
+  private static final int N = 5000;
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  private static MvecArray samples() {
+    MvecArray array = new MvecArray(N);
+    for (int e = 0; e < N; e++) {
+      try (Mvec mv = MvecFixtures.sample(e)) {
+        array.set(e, mv);
+      }
+    }
+    return array;
+  }
+
+  @Test
+  @DisplayName("Test parallel products match Mvec products")
+  void testMapMul() {
+    MvecArray x = samples();
+    MvecArray out = new MvecArray(N);
+    Mvec r = new Mvec(0.8);
+    r.set(E1 | E2, 0.6);
+    Mvec rev = new Mvec(0.8);
+    rev.set(E1 | E2, -0.6);
+
+    x.mapMul(r, out);
+    Mvec tmp = new Mvec();
+    for (int e = 0; e < N; e += 97) {
+      MvecFixtures.assertSameCoefficients(MvecFixtures.sample(e).mul(r), out.get(e, tmp));
+    }
+
+    x.mapMul(r, rev, x);
+    for (int e = 0; e < N; e += 97) {
+      MvecFixtures.assertSameCoefficients(r.mul(MvecFixtures.sample(e)).mul(rev), x.get(e, tmp));
+    }
+    assertThrows(IllegalArgumentException.class, () -> x.mapMul(r, new MvecArray(N - 1)));
+  }
+
+  @Test
+  @DisplayName("Test parallel reductions")
+  void testReductions() {
+    MvecArray x = samples();
+    Mvec expected = new Mvec();
+    double norms = 0.0;
+    for (int e = 0; e < N; e++) {
+      try (Mvec mv = MvecFixtures.sample(e)) {
+        expected.addInPlace(mv);
+        norms += mv.norm();
+      }
+    }
+    try (Mvec sum = x.reduceAdd()) {
+      MvecFixtures.assertSameCoefficients(expected, sum);
+    }
+    assertEquals(norms, x.sumNorms(), 1e-9 * norms);
+    assertTrue(new MvecArray(0).reduceAdd().isEmpty());
+    assertEquals(0.0, new MvecArray(0).sumNorms(), 0.0);
+  }
+
+  @Test
+  @DisplayName("Test spliterator over contiguous ranges")
+  void testSpliterator() {
+    MvecArray x = samples();
+    Spliterator<Mvec> all = x.spliterator();
+    Spliterator<Mvec> prefix = all.trySplit();
+    assertEquals(N / 2, prefix.estimateSize());
+    assertEquals(N - N / 2, all.estimateSize());
+    assertTrue(all.hasCharacteristics(Spliterator.SUBSIZED));
+
+    double sequential = x.stream().mapToDouble(mv -> {
+      try (mv) {
+        return mv.get(E1);
+      }
+    }).sum();
+    double parallel = x.parallelStream().mapToDouble(mv -> {
+      try (mv) {
+        return mv.get(E1);
+      }
+    }).sum();
+    assertEquals(sequential, parallel, 1e-9);
+    assertEquals(N, x.parallelStream().count());
+  }
+
+  @Test
+  @DisplayName("Test wrapping existing coefficients")
+  void testWrap() {
+    double[] coefficients = new double[3 * MvecArray.bladeCount()];
+    MvecArray x = MvecArray.wrap(coefficients);
+    assertEquals(3, x.size());
+    x.set(1, E1, 4.0);
+    assertEquals(4.0, coefficients[MvecArray.bladeCount() + E1], 0.0);
+    assertEquals(3L * MvecArray.bladeCount() * Double.BYTES, x.segment().byteSize());
+    assertThrows(IllegalArgumentException.class, () -> MvecArray.wrap(new double[MvecArray.bladeCount() + 1]));
+  }
+}
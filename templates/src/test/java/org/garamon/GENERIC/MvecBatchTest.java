@@ -0,0 +1,107 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("MvecBatch Operations Test")
+public class MvecBatchTest {
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  @Test
+  @DisplayName("Test batch products match Mvec products")
+  void testProducts() {
+    int n = 11;
+    try (MvecBatch a = MvecBatch.allocate(n);
+         MvecBatch b = MvecBatch.allocate(n);
+         MvecBatch gp = MvecBatch.allocate(n);
+         MvecBatch ext = MvecBatch.allocate(n);
+         MvecBatch sum = MvecBatch.allocate(n)) {
+      for (int e = 0; e < n; e++) {
+        a.set(e, MvecFixtures.sample(e));
+        b.set(e, MvecFixtures.sample(n - e));
+      }
+      a.mul(b, gp);
+      a.outer(b, ext);
+      a.add(b, sum);
+      double[] norms = a.norm(new double[n]);
+
+      Mvec tmp = new Mvec();
+      for (int e = 0; e < n; e++) {
+        Mvec x = MvecFixtures.sample(e);
+        Mvec y = MvecFixtures.sample(n - e);
+        MvecFixtures.assertSameCoefficients(x.mul(y), gp.get(e, tmp));
+        MvecFixtures.assertSameCoefficients(x.outer(y), ext.get(e, tmp));
+        MvecFixtures.assertSameCoefficients(x.add(y), sum.get(e, tmp));
+        assertEquals(x.norm(), norms[e], 1e-9, "norm of element " + e);
+      }
+
+      // in-place, broadcast operand
+      Mvec r = MvecFixtures.sample(3);
+      a.mul(r, gp);
+      a.mul(b, a);
+      MvecFixtures.assertSameCoefficients(MvecFixtures.sample(1).mul(r), gp.get(1, tmp));
+      MvecFixtures.assertSameCoefficients(MvecFixtures.sample(1).mul(MvecFixtures.sample(n - 1)), a.get(1, tmp));
+    }
+  }
+
+  @Test
+  @DisplayName("Test SIMD kernels match the scalar loops")
+  void testSimdMatchesScalar() {
+    assumeTrue(BatchKernels.SIMD, "run with --add-modules jdk.incubator.vector, without -Dgaramon.simd=false");
+    // not a multiple of any vector length, so that both the vector loop and the tail run
+    int n = 37;
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment a = arena.allocate((long) n * Double.BYTES);
+      MemorySegment b = arena.allocate((long) n * Double.BYTES);
+      for (int e = 0; e < n; e++) {
+        a.setAtIndex(ValueLayout.JAVA_DOUBLE, e, Math.sin(e) * 3.0);
+        b.setAtIndex(ValueLayout.JAVA_DOUBLE, e, Math.cos(e) - 0.5);
+      }
+      MemorySegment simd = arena.allocate((long) n * Double.BYTES);
+      MemorySegment scalar = arena.allocate((long) n * Double.BYTES);
+      for (boolean path : new boolean[] {true, false}) {
+        MemorySegment out = path ? simd : scalar;
+        BatchKernels.add(out, a, b, n, path);
+        BatchKernels.fma(out, 0, 1.5, a, 0, b, 0, n, path);
+        BatchKernels.axpy(out, 0, -0.25, b, 0, n, path);
+      }
+      // fma rounds once where the scalar loop rounds twice
+      assertArrayEquals(scalar.toArray(ValueLayout.JAVA_DOUBLE), simd.toArray(ValueLayout.JAVA_DOUBLE), 1e-12);
+
+      double[] roots = new double[n];
+      double[] scalarRoots = new double[n];
+      BatchKernels.sqrtAbs(roots, a, n, true);
+      BatchKernels.sqrtAbs(scalarRoots, a, n, false);
+      assertArrayEquals(scalarRoots, roots, 0.0);
+    }
+  }
+
+  @Test
+  @DisplayName("Test bulk import and export")
+  void testBulkCopy() {
+    int n = 3;
+    int stride = MvecBatch.bladeCount();
+    double[] src = new double[n * stride];
+    for (int i = 0; i < src.length; i++) src[i] = i;
+    try (MvecBatch batch = MvecBatch.allocate(n)) {
+      batch.copyFrom(src, 0);
+      assertEquals(stride + 1.0, batch.get(1, 1), 0.0);
+      java.nio.DoubleBuffer buf = java.nio.DoubleBuffer.allocate(src.length);
+      batch.copyTo(buf);
+      assertEquals(src.length, buf.position());
+      assertArrayEquals(src, buf.array(), 0.0);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MvecExpr Evaluation Test")
+public class MvecExprTest {
+
+  private static final int E1 = Mvec.Basis.Eproject_first_vector_basis;
+  private static final int E2 = Mvec.Basis.Eproject_second_vector_basis;
+
+  @Test
+  @DisplayName("Test fused evaluation matches the chained operators")
+  void testEval() {
+    Mvec a = new Mvec(1.0);
+    a.set(E1, 2.0);
+    Mvec b = new Mvec(E2, 3.0);
+    Mvec c = new Mvec(E1 | E2, -1.0);
+    Mvec d = new Mvec(0.5);
+
+    // a.mul(b).outer(c).add(d), with folded scalars
+    Mvec expected = a.mul(b).outer(c).rmul(6.0).add(d).add(1.0);
+    Mvec actual = MvecExpr.of(a).mul(2.0).mul(b).outer(MvecExpr.of(c).rmul(3.0)).add(d).add(1.0).eval();
+    assertEquals(0.0, expected.add(actual.rmul(-1.0)).norm(), 1e-12);
+
+    // sandwich, re-evaluated after the operand changed
+    MvecExpr sandwich = MvecExpr.of(a).mul(b).mul(a);
+    Mvec dst = new Mvec();
+    sandwich.eval(dst);
+    assertEquals(0.0, a.mul(b).mul(a).add(dst.rmul(-1.0)).norm(), 1e-12);
+    b.set(E1, 4.0);
+    sandwich.eval(dst);
+    assertEquals(0.0, a.mul(b).mul(a).add(dst.rmul(-1.0)).norm(), 1e-12);
+
+    // evaluation into an operand and into the Java backend
+    Mvec contraction = a.leftContraction(b);
+    MvecExpr.of(a).leftContraction(b).eval(a);
+    assertEquals(0.0, contraction.add(a.rmul(-1.0)).norm(), 1e-12);
+    JavaMvec j = MvecExpr.of(a).inner(c).eval(new JavaMvec());
+    Mvec inner = a.inner(c);
+    MvecFixtures.assertSameCoefficients(inner, j);
+
+    for (Mvec mv : new Mvec[] {a, b, c, d, expected, actual, dst, contraction, inner}) {
+      mv.close();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package org.garamon.project_namespace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Sample multivectors and coefficient comparisons shared by the tests. */
+final class MvecFixtures {
+
+  static final int E1 = Mvec.Basis.Eproject_first_vector_basis;
+  static final int E2 = Mvec.Basis.Eproject_second_vector_basis;
+
+  private MvecFixtures() {}
+
+  /**
+   * Sets the scalar, the first two vectors and their bivector.
+   * @return {@code zero}, so that any backend can be filled the same way.
+   */
+  static <T extends Multivector<T>> T sample(T zero, double shift) {
+    zero.set(Mvec.Basis.SCALAR, 1.0 + shift);
+    zero.set(E1, 2.0 - shift);
+    zero.set(E2, 0.5 * shift);
+    zero.set(E1 | E2, -shift);
+    return zero;
+  }
+
+  /** @return The {@code e}-th element of a sequence of scalar plus vector multivectors, periodic in {@code e}. */
+  static Mvec sample(int e) {
+    Mvec mv = new Mvec(1.0 + e % 7);
+    mv.set(E1, 2.0 - e % 5);
+    mv.set(E2, 0.5 * (e % 3));
+    return mv;
+  }
+
+  /** @return A multivector with every blade set. */
+  static Mvec full(double shift) {
+    double[] c = new double[Blades.COUNT];
+    for (int k = 0; k < c.length; k++) c[k] = 1.0 + (k * 0.37 + shift) % 1.3;
+    Mvec mv = new Mvec();
+    mv.setCoefficients(c);
+    return mv;
+  }
+
+  /** Compares every coefficient of two multivectors, of any backends. */
+  static void assertSameCoefficients(Multivector<?> expected, Multivector<?> actual) {
+    for (int k = 0; k < Blades.COUNT; k++) {
+      assertEquals(expected.get(k), actual.get(k), 1e-9, "coefficient of blade " + k);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("MvecLeakDetector Test")
+public class MvecLeakDetectorTest {
+
+  private static final int E1 = Mvec.Basis.Eproject_first_vector_basis;
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  @Test
+  @DisplayName("Test native budget sizes")
+  void testParseBytes() {
+    assertEquals(0, MvecLeakDetector.parseBytes("0"));
+    assertEquals(4096, MvecLeakDetector.parseBytes("4096"));
+    assertEquals(512L << 20, MvecLeakDetector.parseBytes("512m"));
+    assertEquals(2L << 30, MvecLeakDetector.parseBytes(" 2G "));
+    assertThrows(IllegalArgumentException.class, () -> MvecLeakDetector.parseBytes("lots"));
+    assertTrue(MvecLeakDetector.bytesPerMvec() > Blades.COUNT * Double.BYTES);
+  }
+
+  @Test
+  @DisplayName("Test accounting of closed multivectors")
+  void testClosedAccounting() {
+    long held = MvecLeakDetector.nativeBytes();
+    MvecMetrics.Stats before = MvecMetrics.stats();
+    try (MvecScope scope = MvecScope.open()) {
+      new Mvec(E1, 1.0).mul(new Mvec(E1, 2.0));
+    }
+    try (Mvec a = new Mvec(E1, 1.0)) {
+      a.addInPlace(1.0);
+    }
+    MvecMetrics.Stats after = MvecMetrics.stats();
+    if (!MvecMetrics.ENABLED) {
+      assertEquals(0, MvecLeakDetector.nativeBytes(), "only accounted with the metrics");
+      return;
+    }
+    // only this thread creates or closes multivectors, the Cleaner counts apart
+    assertEquals(4, after.allocated() - before.allocated(), "the operands, the product and a");
+    assertEquals(4, after.closed() - before.closed(), "three by the scope, then a");
+    assertEquals(1, after.replaced() - before.replaced(), "the value of a replaced in place");
+    if (MvecPool.capacity() == 0) {
+      // the Cleaner may free other multivectors meanwhile, never add any
+      assertTrue(MvecLeakDetector.nativeBytes() <= held);
+    } else {
+      // closed into the pool, the native multivectors are still held
+      assertTrue(MvecLeakDetector.nativeBytes() >= MvecPool.pooled() * MvecLeakDetector.bytesPerMvec());
+    }
+  }
+
+  @Test
+  @DisplayName("Test the blocking budget does not stall scopes")
+  void testBudgetInScope() {
+    assumeTrue(MvecLeakDetector.budget() > 0 && MvecMetrics.ENABLED,
+        "run with -Dgaramon.native.budget=<bytes> and the metrics, like the leakTest task");
+    MvecMetrics.Stats before = MvecMetrics.stats();
+    long start = System.nanoTime();
+    try (MvecScope scope = MvecScope.open()) {
+      Mvec a = new Mvec(E1, 1.0);
+      for (int i = 0; i < 100; i++) {
+        a = a.mul(a);
+      }
+      if (MvecLeakDetector.budget() < 100 * MvecLeakDetector.bytesPerMvec()) {
+        assertTrue(MvecLeakDetector.nativeBytes() > MvecLeakDetector.budget(), "the scope should exceed the budget");
+      }
+    }
+    assertTrue(System.nanoTime() - start < 5_000_000_000L, "scope-owned multivectors should not wait for the Cleaner");
+    MvecMetrics.Stats after = MvecMetrics.stats();
+    assertEquals(101, after.allocated() - before.allocated());
+    assertEquals(101, after.closed() - before.closed(), "all freed by the scope");
+  }
+
+  @Test
+  @DisplayName("Test report of multivectors freed by the Cleaner")
+  void testLeakReported() throws InterruptedException {
+    assumeTrue(MvecLeakDetector.level() == MvecLeakDetector.Level.PARANOID,
+        "run with -Dgaramon.leak.detection=paranoid, like the leakTest task");
+    long leaks = MvecLeakDetector.leaks();
+    for (int i = 0; i < 16; i++) {
+      new Mvec(E1, i + 1.0);
+    }
+    for (int i = 0; i < 100 && MvecLeakDetector.leaks() - leaks < 16; i++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+    // other unclosed multivectors may be reported as well
+    assertTrue(MvecLeakDetector.leaks() - leaks >= 16, "every unclosed multivector should be reported");
+  }
+}
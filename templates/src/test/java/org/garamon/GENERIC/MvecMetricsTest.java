@@ -0,0 +1,101 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("MvecMetrics Test")
+public class MvecMetricsTest {
+
+  private static final int E1 = Mvec.Basis.Eproject_first_vector_basis;
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  @Test
+  @DisplayName("Test native multivector counters")
+  void testCounters() {
+    assumeTrue(MvecMetrics.ENABLED, "run without -Dgaramon.metrics=false");
+    MvecMetrics.Stats before = MvecMetrics.stats();
+    Mvec a = new Mvec(E1, 2.0);
+    Mvec b = a.mul(a);
+    b.addInPlace(1.0);
+    MvecMetrics.Stats during = MvecMetrics.stats();
+    a.close();
+    b.close();
+    MvecMetrics.Stats after = MvecMetrics.stats();
+
+    // counters are global: other threads may only add to them
+    assertTrue(during.allocated() - before.allocated() >= 2, "a and b");
+    assertTrue(during.replaced() - before.replaced() >= 1, "the value of b replaced in place");
+    assertTrue(after.closed() - before.closed() >= 2, "a and b");
+    assertTrue(after.live() >= 0);
+
+    // a multivector closed into the pool is no longer live, but still held
+    int capacity = MvecPool.capacity();
+    MvecPool.setCapacity(Math.max(capacity, 1));
+    try {
+      new Mvec(1.0).close();
+      MvecMetrics.Stats pooled = MvecMetrics.stats();
+      assertTrue(pooled.pooled() >= 1);
+      assertEquals(pooled.live() + pooled.pooled(), pooled.held());
+    } finally {
+      MvecPool.setCapacity(capacity);
+    }
+  }
+
+  @Test
+  @DisplayName("Test sampled operator latencies, JFR events and MBean")
+  void testLatencies() throws Exception {
+    assumeTrue(MvecMetrics.JFR, "run without -Dgaramon.metrics=false");
+    int previous = MvecMetrics.sampleInterval();
+    MvecMetrics.setSampleInterval(1);
+    Path dump = Files.createTempFile("garamon", ".jfr");
+    try (Recording recording = new Recording(); Mvec a = new Mvec(E1, 2.0)) {
+      recording.enable("org.garamon.GENERIC.MvecOperation");
+      recording.enable("org.garamon.GENERIC.MvecStatistics").with("period", "everyChunk");
+      recording.start();
+      long samples = MvecMetrics.latencies().get(MvecMetrics.Operation.OUTER).samples();
+      for (int i = 0; i < 10; i++) {
+        a.outer(a).close();
+      }
+      recording.stop();
+      recording.dump(dump);
+
+      MvecMetrics.Latency outer = MvecMetrics.latencies().get(MvecMetrics.Operation.OUTER);
+      assertTrue(outer.samples() - samples >= 10);
+      assertTrue(outer.meanNanos() > 0.0);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+      assertTrue(events.stream().anyMatch(e -> e.hasField("operation") && "OUTER".equals(e.getString("operation"))),
+          "sampled calls should be recorded as JFR events");
+      assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().endsWith(".MvecStatistics")),
+          "the statistics event should be registered once Flight Recorder starts");
+    } finally {
+      MvecMetrics.setSampleInterval(previous);
+      Files.deleteIfExists(dump);
+    }
+
+    MvecMetrics.registerMBean();
+    MvecMetrics.registerMBean();
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName("org.garamon:type=MvecMetrics,algebra=GENERIC");
+    assertTrue((Long) server.getAttribute(name, "AllocatedCount") > 0);
+    assertNotNull(server.getAttribute(name, "MeanOperationNanos"));
+  }
+}
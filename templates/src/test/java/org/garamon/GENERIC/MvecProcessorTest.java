@@ -0,0 +1,102 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MvecProcessor Test")
+public class MvecProcessorTest {
+
+  private static final int E1 = Mvec.Basis.Eproject_first_vector_basis;
+  private static final int E2 = Mvec.Basis.Eproject_second_vector_basis;
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  private static MvecArray chunk(int first, int size) {
+    MvecArray chunk = new MvecArray(size);
+    for (int e = 0; e < size; e++) {
+      chunk.set(e, E1, first + e);
+      chunk.set(e, E2, 1.0);
+    }
+    return chunk;
+  }
+
+  @Test
+  @DisplayName("Test chunks are transformed in order with bounded buffers")
+  void testPipeline() throws Exception {
+    Mvec rotor = new Mvec(0.8);
+    rotor.set(E1 | E2, 0.6);
+    Mvec reverse = new Mvec(0.8);
+    reverse.set(E1 | E2, -0.6);
+    MvecProcessor.Transform transform = MvecProcessor.Transform.mul(rotor, reverse)
+        .andThen(MvecProcessor.Transform.mul(new Mvec(2.0)));
+
+    int chunks = 40, size = 100;
+    List<MvecArray> received = new CopyOnWriteArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (SubmissionPublisher<MvecArray> source = new SubmissionPublisher<>(executor, 2);
+         MvecProcessor processor = new MvecProcessor(transform, executor, 2)) {
+      source.subscribe(processor);
+      // a slow consumer: the buffers of 2 chunks fill up and hold back the source
+      CompletableFuture<Void> done = processor.consume(chunk -> {
+        received.add(chunk);
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      for (int c = 0; c < chunks; c++) {
+        source.submit(chunk(c * size, size));
+      }
+      source.close();
+      done.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(chunks, received.size());
+    Mvec tmp = new Mvec();
+    for (int c = 0; c < chunks; c += 7) {
+      for (int e = 0; e < size; e += 13) {
+        try (Mvec x = chunk(c * size, size).get(e);
+             Mvec expected = rotor.mul(x).mul(reverse).mul(2.0)) {
+          received.get(c).get(e, tmp);
+          for (int k = 0; k < MvecArray.bladeCount(); k++) {
+            assertEquals(expected.get(k), tmp.get(k), 1e-9, "blade " + k + " of element " + (c * size + e));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test transform failures are propagated downstream")
+  void testFailure() {
+    MvecProcessor.Transform failing = chunk -> {
+      throw new IllegalStateException("boom");
+    };
+    try (SubmissionPublisher<MvecArray> source = new SubmissionPublisher<>();
+         MvecProcessor processor = new MvecProcessor(failing)) {
+      source.subscribe(processor);
+      CompletableFuture<Void> done = processor.consume(chunk -> { });
+      source.submit(chunk(0, 4));
+      ExecutionException e = assertThrows(ExecutionException.class, () -> done.get(10, TimeUnit.SECONDS));
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MvecStore Test")
+public class MvecStoreTest {
+
+  private static final int E1 = Mvec.Basis.Eproject_first_vector_basis;
+  private static final int E2 = Mvec.Basis.Eproject_second_vector_basis;
+
+  @TempDir
+  Path dir;
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  @Test
+  @DisplayName("Test append, reopen and random access")
+  void testRoundTrip() throws IOException {
+    Path file = dir.resolve("points.mvec");
+    int n = 3000; // more than the initial capacity, the store has to grow
+    try (MvecStore store = MvecStore.create(file)) {
+      MvecArray first = store.view(0, 0);
+      try (Mvec mv = new Mvec(E1, 1.0)) {
+        assertEquals(0, store.append(mv));
+      }
+      MvecArray batch = new MvecArray(n - 1);
+      for (int e = 0; e < n - 1; e++) {
+        batch.set(e, E1, e + 2.0);
+        batch.set(e, E2, -1.0);
+      }
+      assertEquals(1, store.append(batch));
+      assertEquals(n, store.size());
+      assertEquals(0, first.size(), "earlier views should stay valid after growing");
+    }
+    assertEquals(MvecStore.HEADER_SIZE + (long) n * MvecStore.bladeCount() * Double.BYTES, Files.size(file));
+
+    try (MvecStore store = MvecStore.open(file, false)) {
+      assertEquals(n, store.size());
+      assertEquals(1.0, store.get(0, E1), 0.0);
+      assertEquals(0.0, store.get(0, E2), 0.0);
+      try (Mvec mv = store.get(n - 1, new Mvec())) {
+        assertEquals(n, mv.get(E1), 0.0);
+        assertEquals(-1.0, mv.get(E2), 0.0);
+      }
+      assertThrows(IndexOutOfBoundsException.class, () -> store.get(n, E1));
+      try (Mvec mv = new Mvec()) {
+        assertThrows(UnsupportedOperationException.class, () -> store.append(mv));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test bulk operators on zero-copy views")
+  void testViews() throws IOException {
+    Path file = dir.resolve("cloud.mvec");
+    try (MvecStore store = MvecStore.create(file)) {
+      MvecArray src = new MvecArray(10);
+      for (int e = 0; e < 10; e++) {
+        src.set(e, E1, 3.0);
+        src.set(e, E2, 4.0);
+      }
+      store.append(src);
+      MvecArray view = store.view(2, 5);
+      assertEquals(25.0, view.sumNorms(), 1e-9);
+
+      try (Mvec scale = new Mvec(2.0)) {
+        view.mapMul(scale, view);
+      }
+      assertEquals(6.0, store.get(2, E1), 0.0, "views should write through to the store");
+      assertEquals(3.0, store.get(7, E1), 0.0);
+    }
+    try (MvecStore store = MvecStore.open(file, true)) {
+      assertEquals(8.0, store.get(6, E2), 0.0);
+    }
+  }
+
+  @Test
+  @DisplayName("Test header validation")
+  void testHeader() throws IOException {
+    Path file = dir.resolve("other.mvec");
+    try (MvecStore store = MvecStore.create(file)) {
+      try (Mvec mv = new Mvec(1.0)) {
+        store.append(mv);
+      }
+    }
+    // another blade count, as written by another algebra
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(4).order(java.nio.ByteOrder.nativeOrder()).putInt(0, 2), 12);
+    }
+    assertThrows(IOException.class, () -> MvecStore.open(file, false));
+
+    Path text = dir.resolve("text.mvec");
+    Files.writeString(text, "not a store, but long enough to hold a header.....................");
+    assertThrows(IOException.class, () -> MvecStore.open(text, false));
+  }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -69,7 +70,7 @@ public class MvecTest {
     mv1.clear();
     assertTrue(mv1.isEmpty(), "mv1 should be empty after clear()");
 
-    // manual free (but GC will handle close if not done)
+    // manual free: otherwise the Cleaner frees them only after a GC (see MvecLeakDetector)
     mv1.close();
     mv2.close();
     ext.close();
@@ -78,4 +79,217 @@ public class MvecTest {
     lcont.close();
     rcont.close();
   }
+
+  @Test
+  @DisplayName("Test in-place operators")
+  void testInPlaceOperators() {
+    Mvec a = new Mvec(2.0);
+    a.at(Mvec.Basis.Eproject_first_vector_basis, 3.0);
+    Mvec b = new Mvec(Mvec.Basis.Eproject_second_vector_basis, 5.0);
+
+    Mvec gp = a.mul(b);
+    Mvec ext = a.outer(b);
+    Mvec dst = new Mvec();
+
+    a.mulInto(b, dst);
+    assertEquals(0.0, gp.add(dst.rmul(-1.0)).norm(), 1e-12, "mulInto should match mul");
+    a.outerInto(b, dst);
+    assertEquals(0.0, ext.add(dst.rmul(-1.0)).norm(), 1e-12, "outerInto should match outer");
+
+    // aliasing: the destination may be one of the operands
+    Mvec acc = new Mvec(1.0);
+    acc.addInPlace(a).addInPlace(1.0).mulInPlace(2.0);
+    assertEquals(8.0, acc.at(Mvec.Basis.SCALAR), 1e-12);
+    assertEquals(6.0, acc.at(Mvec.Basis.Eproject_first_vector_basis), 1e-12);
+    a.mulInto(b, a);
+    assertEquals(0.0, gp.add(a.rmul(-1.0)).norm(), 1e-12, "mulInto should allow dst == this");
+
+    a.close();
+    b.close();
+    gp.close();
+    ext.close();
+    dst.close();
+    acc.close();
+  }
+
+  @Test
+  @DisplayName("Test scoped multivectors")
+  void testScope() {
+    Mvec a = new Mvec(2.0);
+    double scalar;
+    try (MvecScope outer = MvecScope.open()) {
+      Mvec b = a.mul(3.0);
+      try (MvecScope inner = MvecScope.open()) {
+        Mvec c = b.add(1.0);
+        scalar = c.toScalar();
+        assertEquals(1, inner.size(), "inner scope should own c");
+        assertSame(inner, MvecScope.current());
+      }
+      assertSame(outer, MvecScope.current(), "closing the inner scope should restore the outer one");
+      assertEquals(1, outer.size(), "outer scope should own b");
+      b.close(); // explicit close inside a scope is allowed
+    }
+    assertNull(MvecScope.current());
+    assertEquals(7.0, scalar, 1e-12);
+    a.close();
+  }
+
+  @Test
+  @DisplayName("Test bulk coefficient access")
+  void testBulkAccess() {
+    int e1 = Mvec.Basis.Eproject_first_vector_basis;
+    int e2 = Mvec.Basis.Eproject_second_vector_basis;
+    Mvec mv = new Mvec(1.5);
+    mv.set(e1 | e2, -2.0);
+
+    int[] grades = new int[16];
+    int n = mv.gradesInto(grades);
+    assertArrayEquals(new int[] {0, 2}, Arrays.copyOf(grades, n));
+    assertArrayEquals(new int[] {0, 2}, mv.grades());
+
+    int bladeCount = (int) (mv.coefficientView().byteSize() / Double.BYTES);
+    double[] coefficients = new double[1 + bladeCount];
+    coefficients[0] = 99.0;
+    mv.copyCoefficientsTo(coefficients, 1);
+    assertEquals(99.0, coefficients[0], 0.0, "copy should start at the offset");
+    assertEquals(1.5, coefficients[1 + Mvec.Basis.SCALAR], 0.0);
+    assertEquals(-2.0, coefficients[1 + (e1 | e2)], 0.0);
+    assertEquals(-2.0, mv.coefficientView().getAtIndex(java.lang.foreign.ValueLayout.JAVA_DOUBLE, e1 | e2), 0.0);
+
+    Mvec copy = new Mvec(e1, 7.0);
+    copy.setCoefficients(coefficients, 1);
+    assertEquals(0.0, copy.get(e1), 0.0, "setCoefficients should replace every coefficient");
+    assertEquals(0.0, copy.add(mv.rmul(-1.0)).norm(), 1e-12);
+
+    mv.close();
+    copy.close();
+  }
+
+  @Test
+  @DisplayName("Test native loader statistics")
+  void testLoadStats() {
+    NativeLoader.LoadStats stats = NativeLoader.stats();
+    assertNotNull(stats.library());
+    assertTrue(stats.totalNanos() > 0, "load should take some time");
+    assertSame(stats, NativeLoader.stats(), "the library should be loaded once");
+  }
+
+  @Test
+  @DisplayName("Test native multivector pooling")
+  void testPool() {
+    int e1 = Mvec.Basis.Eproject_first_vector_basis;
+    int previous = MvecPool.capacity();
+    MvecPool.setCapacity(0); // drain the free list of this thread
+    MvecPool.setCapacity(2);
+    MvecPool.resetStats();
+    try {
+      Mvec a = new Mvec(e1, 3.0);
+      a.close();
+      Mvec b = new Mvec(2.0);
+      assertEquals(2.0, b.toScalar(), 0.0);
+      assertEquals(0.0, b.get(e1), 0.0, "a pooled multivector should be cleared");
+      b.close();
+
+      MvecPool.Stats stats = MvecPool.stats();
+      assertEquals(1, stats.misses());
+      assertEquals(1, stats.hits());
+      assertEquals(2, stats.recycled());
+      assertEquals(0.5, stats.hitRate(), 0.0);
+
+      Mvec[] many = {new Mvec(), new Mvec(), new Mvec()};
+      for (Mvec mv : many) {
+        mv.close();
+      }
+      assertEquals(1, MvecPool.stats().discarded(), "the pool should be bounded");
+    } finally {
+      MvecPool.setCapacity(previous);
+    }
+  }
+
+  @Test
+  @DisplayName("Test immutable shared constants")
+  void testConstants() {
+    int e1 = Mvec.Basis.Eproject_first_vector_basis;
+    assertSame(Mvec.ONE, Mvec.blade(Mvec.Basis.SCALAR));
+    assertSame(Mvec.blade(e1), Mvec.blade(e1));
+    assertTrue(Mvec.ONE.isImmutable());
+    assertFalse(new Mvec(1.0).isImmutable());
+
+    try (Mvec i = Mvec.I(); Mvec diff = i.add(Mvec.PSEUDOSCALAR.rmul(-1.0))) {
+      assertTrue(diff.isEmpty() || diff.norm() < 1e-12, "PSEUDOSCALAR should equal I()");
+    }
+
+    Mvec v = new Mvec(e1, 3.0);
+    try (Mvec same = v.mul(Mvec.ONE); Mvec scaled = Mvec.blade(e1).rmul(3.0)) {
+      assertEquals(3.0, same.get(e1), 0.0);
+      assertNotSame(v, same);
+      assertEquals(3.0, scaled.get(e1), 0.0);
+      assertFalse(scaled.isImmutable());
+    }
+
+    // products of constants are read from the product table
+    int e2 = Mvec.Basis.Eproject_second_vector_basis;
+    try (Mvec x = new Mvec(e1, 1.0); Mvec y = new Mvec(e2, 1.0); Mvec i = Mvec.I()) {
+      Mvec[][] pairs = {{Mvec.blade(e1), Mvec.blade(e2), x, y}, {Mvec.blade(e2), Mvec.blade(e2), y, y},
+          {Mvec.blade(e1), Mvec.PSEUDOSCALAR, x, i}, {Mvec.PSEUDOSCALAR, Mvec.PSEUDOSCALAR, i, i}};
+      for (Mvec[] p : pairs) {
+        assertSameProduct(p[2].mul(p[3]), p[0].mul(p[1]));
+        assertSameProduct(p[2].outer(p[3]), p[0].outer(p[1]));
+        assertSameProduct(p[2].inner(p[3]), p[0].inner(p[1]));
+        assertSameProduct(p[2].leftContraction(p[3]), p[0].leftContraction(p[1]));
+        assertSameProduct(p[2].rightContraction(p[3]), p[0].rightContraction(p[1]));
+      }
+    }
+
+    assertThrows(UnsupportedOperationException.class, () -> Mvec.ONE.set(e1, 1.0));
+    assertThrows(UnsupportedOperationException.class, () -> Mvec.blade(e1).clear());
+    assertThrows(UnsupportedOperationException.class, () -> Mvec.PSEUDOSCALAR.addInPlace(v));
+    assertThrows(UnsupportedOperationException.class, () -> v.mulInto(v, Mvec.ONE));
+    Mvec.ONE.close();
+    assertEquals(1.0, Mvec.ONE.toScalar(), 0.0, "closing a constant should do nothing");
+    v.close();
+  }
+
+  @Test
+  @DisplayName("Test frozen multivectors shared between threads")
+  void testFreeze() {
+    int e1 = Mvec.Basis.Eproject_first_vector_basis;
+    Mvec a = new Mvec(e1, 2.0);
+    a.set(Mvec.Basis.SCALAR, 1.0);
+    assertSame(a, a.freeze());
+    assertTrue(a.isImmutable());
+    assertThrows(UnsupportedOperationException.class, () -> a.set(e1, 1.0));
+    assertThrows(UnsupportedOperationException.class, () -> a.addInPlace(1.0));
+    a.close();
+    assertEquals(2.0, a.get(e1), 0.0, "closing a frozen multivector should do nothing");
+
+    double expected;
+    try (Mvec square = a.mul(a)) {
+      expected = square.toScalar();
+    }
+    double sum = IntStream.range(0, 1000).parallel().mapToDouble(i -> {
+      try (Mvec square = a.mul(a)) {
+        return square.toScalar();
+      }
+    }).sum();
+    assertEquals(1000 * expected, sum, 1e-9);
+
+    try (MvecScope scope = MvecScope.open()) {
+      Mvec owned = new Mvec(1.0);
+      assertThrows(IllegalStateException.class, owned::freeze);
+    }
+
+    if (MvecScope.DEBUG) {
+      Mvec closed = new Mvec(1.0);
+      closed.close();
+      assertThrows(IllegalStateException.class, closed::norm);
+    }
+  }
+
+  private static void assertSameProduct(Mvec expected, Mvec actual) {
+    try (expected; actual) {
+      assertFalse(actual.isImmutable());
+      MvecFixtures.assertSameCoefficients(expected, actual);
+    }
+  }
 }
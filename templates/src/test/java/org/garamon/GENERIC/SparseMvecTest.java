@@ -0,0 +1,62 @@
+package org.garamon.project_namespace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SparseMvec Test")
+public class SparseMvecTest {
+
+  @BeforeAll
+  static void setup() {
+    NativeLoader.load();
+  }
+
+  private static void assertSameProduct(BinaryOperator<Mvec> nativeOp, BinaryOperator<SparseMvec> sparseOp) {
+    try (Mvec a = MvecFixtures.sample(new Mvec(), 1.0); Mvec b = MvecFixtures.sample(new Mvec(), 3.0); Mvec expected = nativeOp.apply(a, b)) {
+      SparseMvec actual = sparseOp.apply(MvecFixtures.sample(new SparseMvec(), 1.0), MvecFixtures.sample(new SparseMvec(), 3.0));
+      MvecFixtures.assertSameCoefficients(expected, actual);
+      assertArrayEquals(expected.grades(), actual.grades());
+    }
+  }
+
+  @Test
+  @DisplayName("Test SparseMvec products match the native backend")
+  void testProducts() {
+    assertSameProduct(Mvec::add, SparseMvec::add);
+    assertSameProduct(Mvec::mul, SparseMvec::mul);
+    assertSameProduct(Mvec::outer, SparseMvec::outer);
+    assertSameProduct(Mvec::inner, SparseMvec::inner);
+    assertSameProduct(Mvec::leftContraction, SparseMvec::leftContraction);
+    assertSameProduct(Mvec::rightContraction, SparseMvec::rightContraction);
+
+    try (Mvec mv = MvecFixtures.sample(new Mvec(), 2.0)) {
+      assertEquals(mv.norm(), MvecFixtures.sample(new SparseMvec(), 2.0).norm(), 1e-9);
+    }
+  }
+
+  @Test
+  @DisplayName("Test SparseMvec storage and conversions")
+  void testStorage() {
+    SparseMvec smv = MvecFixtures.sample(new SparseMvec(), 1.5);
+    assertEquals(4, smv.size());
+    assertEquals(2, smv.highestGrade());
+    try (Mvec mv = smv.toMvec()) {
+      assertEquals(smv, SparseMvec.from(mv));
+    }
+
+    // zero coefficients are not stored
+    smv.set(MvecFixtures.E1, 0.0);
+    smv.set(MvecFixtures.E2, 0.0);
+    assertEquals(2, smv.size());
+    assertArrayEquals(new int[]{0, 2}, smv.grades());
+    smv.clear(2);
+    assertEquals(1, smv.size());
+    assertEquals(2.5, smv.toScalar(), 1e-12);
+    assertTrue(smv.add(-2.5).isEmpty());
+  }
+}